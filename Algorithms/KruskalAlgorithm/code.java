@@ -1,7 +1,15 @@
 package Algorithms.KruskalAlgorithm;
+import DataStructures.NonLinear.Tree.HeapTree.IndexedHeapTree;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
 
 
 public class code {
@@ -55,7 +63,745 @@ public class code {
         }
     }
 
-    public static void main(String[] args) {
+    // Lock-free union-find for many threads (Anderson and Woll; Jayanti and
+    // Tarjan). parent[] is an AtomicIntegerArray and every change is a CAS:
+    //  - find uses path splitting: each visited node is CAS'd to point to its
+    //    grandparent, which needs no second pass and no locks
+    //  - union links one root under the other with a CAS that only succeeds
+    //    if the child is still a root; on failure it retries with fresh roots
+    // Roots are linked by a fixed pseudo-random priority of their index
+    // (instead of rank), which keeps trees shallow without extra state.
+    static class ConcurrentDisjointSet {
+        final AtomicIntegerArray parent;
+
+        public ConcurrentDisjointSet(int n) {
+            parent = new AtomicIntegerArray(n);
+            for (int i = 0; i < n; i++) {
+                parent.set(i, i);
+            }
+        }
+
+        int find(int x) {
+            while (true) {
+                int p = parent.get(x);
+                if (p == x) {
+                    return x;
+                }
+                int grandparent = parent.get(p);
+                if (p != grandparent) {
+                    parent.compareAndSet(x, p, grandparent); // path splitting
+                }
+                x = p;
+            }
+        }
+
+        // Returns true if x and y were in different sets
+        boolean union(int x, int y) {
+            while (true) {
+                x = find(x);
+                y = find(y);
+                if (x == y) {
+                    return false;
+                }
+                if (higherPriority(y, x)) {
+                    int temp = x;
+                    x = y;
+                    y = temp;
+                }
+                // Link y under x, but only if y is still a root
+                if (parent.compareAndSet(y, y, x)) {
+                    return true;
+                }
+            }
+        }
+
+        boolean connected(int x, int y) {
+            while (true) {
+                x = find(x);
+                y = find(y);
+                if (x == y) {
+                    return true;
+                }
+                // x was a root when found; if it still is, they are separate
+                if (parent.get(x) == x) {
+                    return false;
+                }
+            }
+        }
+
+        private static boolean higherPriority(int a, int b) {
+            int ha = mix(a), hb = mix(b);
+            return ha != hb ? ha > hb : a > b;
+        }
+
+        private static int mix(int x) {
+            x *= 0x9E3779B9;
+            return x ^ (x >>> 16);
+        }
+    }
+
+    // Unions/sec of the lock-free set versus DisjointSet behind one lock
+    // Run from main only when sizes are passed as arguments
+    private static void benchmarkUnionFind(int n, int operations) throws InterruptedException {
+        int[] a = new int[operations];
+        int[] b = new int[operations];
+        Random random = new Random(11);
+        for (int i = 0; i < operations; i++) {
+            a[i] = random.nextInt(n);
+            b[i] = random.nextInt(n);
+        }
+
+        System.out.println("threads\tlock-free(Munions/s)\tsynchronized(Munions/s)");
+        for (int threads = 1; threads <= 64; threads *= 2) {
+            ConcurrentDisjointSet lockFree = new ConcurrentDisjointSet(n);
+            double lockFreeRate = runUnions(threads, a, b, (x, y) -> lockFree.union(x, y));
+
+            DisjointSet sequential = new DisjointSet(n);
+            double lockedRate = runUnions(threads, a, b, (x, y) -> {
+                synchronized (sequential) {
+                    sequential.union(x, y);
+                }
+            });
+            System.out.printf("%d\t%.2f\t\t\t%.2f%n", threads, lockFreeRate, lockedRate);
+        }
+    }
+
+    private interface UnionOperation {
+        void apply(int x, int y);
+    }
+
+    private static double runUnions(int threads, int[] a, int[] b, UnionOperation operation)
+            throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        int chunk = (a.length + threads - 1) / threads;
+        for (int t = 0; t < threads; t++) {
+            int from = t * chunk, to = Math.min(a.length, from + chunk);
+            workers[t] = new Thread(() -> {
+                for (int i = from; i < to; i++) {
+                    operation.apply(a[i], b[i]);
+                }
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return a.length * 1000.0 / (System.nanoTime() - start);
+    }
+
+    // Edge list stored as three parallel int arrays (struct of arrays)
+    // instead of one Edge object per edge
+    static class EdgeArrays {
+        int[] source, destination, weight;
+        int size;
+
+        public EdgeArrays(int capacity) {
+            capacity = Math.max(capacity, 1);
+            source = new int[capacity];
+            destination = new int[capacity];
+            weight = new int[capacity];
+        }
+
+        void add(int source, int destination, int weight) {
+            if (size == this.source.length) {
+                int newCapacity = size * 2;
+                this.source = Arrays.copyOf(this.source, newCapacity);
+                this.destination = Arrays.copyOf(this.destination, newCapacity);
+                this.weight = Arrays.copyOf(this.weight, newCapacity);
+            }
+            this.source[size] = source;
+            this.destination[size] = destination;
+            this.weight[size] = weight;
+            size++;
+        }
+
+        // Sort key: weight in the high 32 bits, edge index in the low 32
+        // bits. Sorting plain longs is much faster than sorting objects, and
+        // the index brings us back to the edge afterwards
+        long key(int edge) {
+            return ((long) weight[edge] << 32) | edge;
+        }
+    }
+
+    // Minimum spanning tree (or forest) as parallel arrays of its edges
+    static class MstResult {
+        final int[] source, destination, weight;
+        final int edgeCount;
+        final long totalWeight;
+
+        MstResult(int[] source, int[] destination, int[] weight, int edgeCount) {
+            this.source = source;
+            this.destination = destination;
+            this.weight = weight;
+            this.edgeCount = edgeCount;
+            long total = 0;
+            for (int i = 0; i < edgeCount; i++) {
+                total += weight[i];
+            }
+            this.totalWeight = total;
+        }
+
+        void print() {
+            System.out.println("Edges in the minimum spanning tree:");
+            for (int i = 0; i < edgeCount; i++) {
+                System.out.println(source[i] + " -- " + destination[i] + " == " + weight[i]);
+            }
+            System.out.println("Total MST weight: " + totalWeight);
+        }
+    }
+
+    // Collects MST edges while Kruskal-style algorithms scan sorted edges
+    static class MstBuilder {
+        final EdgeArrays edges;
+        final DisjointSet ds;
+        final int[] source, destination, weight;
+        final int target;
+        int count;
+
+        MstBuilder(EdgeArrays edges, int vertices) {
+            this.edges = edges;
+            this.ds = new DisjointSet(vertices);
+            this.target = Math.max(vertices - 1, 0);
+            this.source = new int[target];
+            this.destination = new int[target];
+            this.weight = new int[target];
+        }
+
+        boolean isComplete() {
+            return count == target;
+        }
+
+        // Add the edge if it joins two different components
+        void offer(int edge) {
+            int x = ds.find(edges.source[edge]);
+            int y = ds.find(edges.destination[edge]);
+            if (x != y) {
+                ds.union(x, y);
+                source[count] = edges.source[edge];
+                destination[count] = edges.destination[edge];
+                weight[count] = edges.weight[edge];
+                count++;
+            }
+        }
+
+        MstResult result() {
+            return new MstResult(source, destination, weight, count);
+        }
+    }
+
+    // Kruskal on struct-of-arrays edges: pack (weight, index) into longs and
+    // sort them with Arrays.parallelSort, which uses all cores
+    static MstResult kruskalMST(EdgeArrays edges, int vertices) {
+        long[] keys = new long[edges.size];
+        for (int i = 0; i < edges.size; i++) {
+            keys[i] = edges.key(i);
+        }
+        Arrays.parallelSort(keys);
+
+        MstBuilder mst = new MstBuilder(edges, vertices);
+        for (int i = 0; i < keys.length && !mst.isComplete(); i++) {
+            mst.offer((int) keys[i]);
+        }
+        return mst.result();
+    }
+
+    // Filter-Kruskal (Osipov, Sanders and Singler): instead of sorting every
+    // edge, partition around a random pivot weight, solve the light half
+    // first, then drop heavy edges whose endpoints are already connected
+    // before looking at the heavy half. Most heavy edges of a dense graph
+    // are discarded without ever being sorted.
+    private static final int FILTER_KRUSKAL_THRESHOLD = 1 << 14;
+
+    static MstResult filterKruskalMST(EdgeArrays edges, int vertices) {
+        int[] order = new int[edges.size];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        MstBuilder mst = new MstBuilder(edges, vertices);
+        filterKruskal(order, 0, order.length, mst, new Random(42));
+        return mst.result();
+    }
+
+    // Handles the edges order[from..to)
+    private static void filterKruskal(int[] order, int from, int to, MstBuilder mst, Random random) {
+        while (to - from > FILTER_KRUSKAL_THRESHOLD && !mst.isComplete()) {
+            EdgeArrays edges = mst.edges;
+            long pivot = edges.key(order[from + random.nextInt(to - from)]);
+
+            // Partition: keys < pivot to the left. Keys are unique, so the
+            // light part is always smaller than the range
+            int i = from, j = to - 1;
+            while (i <= j) {
+                if (edges.key(order[i]) < pivot) {
+                    i++;
+                } else {
+                    int temp = order[i];
+                    order[i] = order[j];
+                    order[j] = temp;
+                    j--;
+                }
+            }
+            filterKruskal(order, from, i, mst, random);
+
+            // Filter: keep only heavy edges that still join two components
+            int kept = i;
+            for (int k = i; k < to; k++) {
+                int edge = order[k];
+                if (mst.ds.find(edges.source[edge]) != mst.ds.find(edges.destination[edge])) {
+                    order[kept++] = edge;
+                }
+            }
+            from = i;
+            to = kept;
+        }
+        if (mst.isComplete() || from >= to) {
+            return;
+        }
+
+        // Small enough: plain Kruskal on this range
+        EdgeArrays edges = mst.edges;
+        long[] keys = new long[to - from];
+        for (int k = from; k < to; k++) {
+            keys[k - from] = edges.key(order[k]);
+        }
+        Arrays.sort(keys);
+        for (int k = 0; k < keys.length && !mst.isComplete(); k++) {
+            mst.offer((int) keys[k]);
+        }
+    }
+
+    // Boruvka: every round, each component picks its cheapest outgoing edge
+    // and all picked edges are added at once, so the number of components
+    // at least halves per round (O(log V) rounds). Each round is one
+    // parallel pass over the edge arrays; components are tracked with the
+    // lock-free ConcurrentDisjointSet. Ties are broken by edge index (the
+    // packed key), which keeps the picked edges cycle-free.
+    static MstResult boruvkaMST(EdgeArrays edges, int vertices) {
+        ConcurrentDisjointSet ds = new ConcurrentDisjointSet(vertices);
+        AtomicLongArray cheapest = new AtomicLongArray(vertices);
+        int target = Math.max(vertices - 1, 0);
+        int[] source = new int[target], destination = new int[target], weight = new int[target];
+        AtomicInteger count = new AtomicInteger();
+
+        while (count.get() < target) {
+            IntStream.range(0, vertices).parallel().forEach(v -> cheapest.set(v, Long.MAX_VALUE));
+
+            // Cheapest edge leaving each component, stored at its root
+            IntStream.range(0, edges.size).parallel().forEach(e -> {
+                int ru = ds.find(edges.source[e]);
+                int rv = ds.find(edges.destination[e]);
+                if (ru != rv) {
+                    long key = edges.key(e);
+                    lowerTo(cheapest, ru, key);
+                    lowerTo(cheapest, rv, key);
+                }
+            });
+
+            // Add every picked edge; union succeeds only once per merge, so an
+            // edge picked by both of its components is added once
+            int before = count.get();
+            IntStream.range(0, vertices).parallel().forEach(v -> {
+                long key = cheapest.get(v);
+                if (key == Long.MAX_VALUE) {
+                    return;
+                }
+                int e = (int) key;
+                if (ds.union(edges.source[e], edges.destination[e])) {
+                    int slot = count.getAndIncrement();
+                    source[slot] = edges.source[e];
+                    destination[slot] = edges.destination[e];
+                    weight[slot] = edges.weight[e];
+                }
+            });
+            if (count.get() == before) {
+                break; // no edge joins two components: the graph is disconnected
+            }
+        }
+        return new MstResult(source, destination, weight, count.get());
+    }
+
+    // Atomically lower cheapest[index] to key if key is smaller
+    private static void lowerTo(AtomicLongArray cheapest, int index, long key) {
+        long current = cheapest.get(index);
+        while (key < current && !cheapest.compareAndSet(index, current, key)) {
+            current = cheapest.get(index);
+        }
+    }
+
+    // Prim with an indexed heap: grow the tree from a start vertex, keeping
+    // every outside vertex in the heap keyed by its cheapest edge to the
+    // tree. IndexedHeapTree.changeKey makes each decrease-key O(log V), so
+    // the whole run is O(E log V). Restarts from unvisited vertices, so a
+    // disconnected graph yields a spanning forest.
+    static MstResult primMST(EdgeArrays edges, int vertices) {
+        // Undirected adjacency in CSR form: edge e is stored in both rows
+        int[] offsets = new int[vertices + 1];
+        for (int e = 0; e < edges.size; e++) {
+            offsets[edges.source[e] + 1]++;
+            offsets[edges.destination[e] + 1]++;
+        }
+        for (int v = 0; v < vertices; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] adjacentEdge = new int[2 * edges.size];
+        int[] next = Arrays.copyOf(offsets, vertices);
+        for (int e = 0; e < edges.size; e++) {
+            adjacentEdge[next[edges.source[e]]++] = e;
+            adjacentEdge[next[edges.destination[e]]++] = e;
+        }
+
+        int target = Math.max(vertices - 1, 0);
+        int[] source = new int[target], destination = new int[target], weight = new int[target];
+        int count = 0;
+        boolean[] inTree = new boolean[vertices];
+        int[] bestEdge = new int[vertices];
+        IndexedHeapTree heap = new IndexedHeapTree(Math.max(vertices, 1), true);
+
+        for (int start = 0; start < vertices; start++) {
+            if (inTree[start]) {
+                continue;
+            }
+            bestEdge[start] = -1;
+            heap.insert(start, Integer.MIN_VALUE);
+            while (!heap.isEmpty()) {
+                int u = heap.extract();
+                inTree[u] = true;
+                if (bestEdge[u] >= 0) {
+                    int e = bestEdge[u];
+                    source[count] = edges.source[e];
+                    destination[count] = edges.destination[e];
+                    weight[count] = edges.weight[e];
+                    count++;
+                }
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int e = adjacentEdge[i];
+                    int v = edges.source[e] == u ? edges.destination[e] : edges.source[e];
+                    if (inTree[v]) {
+                        continue;
+                    }
+                    if (!heap.contains(v)) {
+                        bestEdge[v] = e;
+                        heap.insert(v, edges.weight[e]);
+                    } else if (edges.weight[e] < heap.keyOf(v)) {
+                        bestEdge[v] = e;
+                        heap.changeKey(v, edges.weight[e]);
+                    }
+                }
+            }
+        }
+        return new MstResult(source, destination, weight, count);
+    }
+
+    // Pick an MST algorithm from the shape of the graph. All of them return
+    // the same MstResult, so callers do not change when the choice does:
+    //  - large graphs on a multi-core machine: Boruvka (parallel rounds)
+    //  - dense graphs (average degree >= 16): Prim, whose cost is dominated
+    //    by cheap adjacency scans rather than sorting all E edges
+    //  - otherwise: Filter-Kruskal
+    private static final int PARALLEL_EDGE_THRESHOLD = 1 << 20;
+    private static final int DENSE_AVERAGE_DEGREE = 16;
+
+    static MstResult minimumSpanningTree(EdgeArrays edges, int vertices) {
+        if (edges.size >= PARALLEL_EDGE_THRESHOLD && Runtime.getRuntime().availableProcessors() > 1) {
+            return boruvkaMST(edges, vertices);
+        }
+        if (2L * edges.size >= (long) DENSE_AVERAGE_DEGREE * vertices) {
+            return primMST(edges, vertices);
+        }
+        return filterKruskalMST(edges, vertices);
+    }
+
+    // Minimum spanning forest that stays minimal while edges are added.
+    // The forest is stored in a link-cut tree (Sleator and Tarjan), where
+    // every tree edge is its own node between its two endpoints, so a path
+    // query returns the heaviest edge on the u..v path. Adding (u, v, w):
+    //  - u and v in different trees: link them with the new edge
+    //  - otherwise the edge closes a cycle; if the heaviest edge on the
+    //    u..v path is heavier than w, cut it and link the new edge instead
+    //    (cycle property), else drop the new edge
+    // Each insertion costs O(log V) amortized instead of a full rebuild.
+    static class IncrementalMST {
+        private static final int NONE = -1;
+
+        private final int vertices;
+        // Nodes 0..vertices-1 are vertices, the rest are forest edges. A
+        // forest has at most vertices - 1 edges, and a replaced edge hands
+        // its node to the new one, so the arrays never grow.
+        private final int[] left, right, parent;
+        private final int[] heaviest; // heaviest edge node in the splay subtree
+        private final boolean[] reversed;
+        private final int[] weight, edgeU, edgeV;
+        private final int[] path;     // scratch stack for splay
+        private int edgeCount;
+        private long totalWeight;
+
+        IncrementalMST(int vertices) {
+            this.vertices = vertices;
+            int nodes = Math.max(2 * vertices - 1, 1);
+            left = new int[nodes];
+            right = new int[nodes];
+            parent = new int[nodes];
+            heaviest = new int[nodes];
+            reversed = new boolean[nodes];
+            weight = new int[nodes];
+            edgeU = new int[nodes];
+            edgeV = new int[nodes];
+            path = new int[nodes];
+            Arrays.fill(left, NONE);
+            Arrays.fill(right, NONE);
+            Arrays.fill(parent, NONE);
+            for (int v = 0; v < vertices; v++) {
+                heaviest[v] = v;
+                weight[v] = Integer.MIN_VALUE; // vertex nodes never win a path query
+            }
+        }
+
+        // Start from the MST of an existing edge set, built in one batch
+        IncrementalMST(EdgeArrays edges, int vertices) {
+            this(vertices);
+            MstResult initial = minimumSpanningTree(edges, vertices);
+            for (int i = 0; i < initial.edgeCount; i++) {
+                linkEdge(vertices + i, initial.source[i], initial.destination[i], initial.weight[i]);
+            }
+            edgeCount = initial.edgeCount;
+            totalWeight = initial.totalWeight;
+        }
+
+        /**
+         * Add an edge and update the forest
+         * Returns true if the edge became part of the minimum spanning forest
+         * Time Complexity: O(log V) amortized
+         */
+        boolean addEdge(int u, int v, int w) {
+            if (u < 0 || u >= vertices || v < 0 || v >= vertices) {
+                throw new IllegalArgumentException("Vertex out of range: " + (u < 0 || u >= vertices ? u : v));
+            }
+            if (u == v) {
+                return false;
+            }
+            if (findRoot(u) != findRoot(v)) {
+                linkEdge(vertices + edgeCount, u, v, w);
+                edgeCount++;
+                totalWeight += w;
+                return true;
+            }
+
+            makeRoot(u);
+            access(v);
+            int max = heaviest[v];
+            if (weight[max] <= w) {
+                return false;
+            }
+            cut(max, edgeU[max]);
+            cut(max, edgeV[max]);
+            totalWeight += (long) w - weight[max];
+            linkEdge(max, u, v, w);
+            return true;
+        }
+
+        boolean connected(int u, int v) {
+            return findRoot(u) == findRoot(v);
+        }
+
+        long totalWeight() {
+            return totalWeight;
+        }
+
+        int edgeCount() {
+            return edgeCount;
+        }
+
+        // Current forest edges, in no particular order
+        MstResult result() {
+            int[] source = new int[edgeCount], destination = new int[edgeCount], w = new int[edgeCount];
+            for (int i = 0; i < edgeCount; i++) {
+                source[i] = edgeU[vertices + i];
+                destination[i] = edgeV[vertices + i];
+                w[i] = weight[vertices + i];
+            }
+            return new MstResult(source, destination, w, edgeCount);
+        }
+
+        // Make node e the edge u -- v and hang it between its endpoints
+        private void linkEdge(int e, int u, int v, int w) {
+            left[e] = right[e] = parent[e] = NONE;
+            reversed[e] = false;
+            heaviest[e] = e;
+            weight[e] = w;
+            edgeU[e] = u;
+            edgeV[e] = v;
+            link(u, e);
+            link(e, v);
+        }
+
+        // Link-cut tree primitives. Each preferred path is a splay tree keyed
+        // by depth; parent[] of a splay root is the path-parent pointer.
+
+        private boolean isSplayRoot(int x) {
+            int p = parent[x];
+            return p == NONE || (left[p] != x && right[p] != x);
+        }
+
+        private void update(int x) {
+            int best = x;
+            if (left[x] != NONE && weight[heaviest[left[x]]] > weight[best]) {
+                best = heaviest[left[x]];
+            }
+            if (right[x] != NONE && weight[heaviest[right[x]]] > weight[best]) {
+                best = heaviest[right[x]];
+            }
+            heaviest[x] = best;
+        }
+
+        // Apply a pending path reversal to x's children
+        private void pushDown(int x) {
+            if (reversed[x]) {
+                int temp = left[x];
+                left[x] = right[x];
+                right[x] = temp;
+                if (left[x] != NONE) {
+                    reversed[left[x]] ^= true;
+                }
+                if (right[x] != NONE) {
+                    reversed[right[x]] ^= true;
+                }
+                reversed[x] = false;
+            }
+        }
+
+        private void rotate(int x) {
+            int y = parent[x], z = parent[y];
+            if (!isSplayRoot(y)) {
+                if (left[z] == y) {
+                    left[z] = x;
+                } else {
+                    right[z] = x;
+                }
+            }
+            parent[x] = z;
+            if (left[y] == x) {
+                left[y] = right[x];
+                if (left[y] != NONE) {
+                    parent[left[y]] = y;
+                }
+                right[x] = y;
+            } else {
+                right[y] = left[x];
+                if (right[y] != NONE) {
+                    parent[right[y]] = y;
+                }
+                left[x] = y;
+            }
+            parent[y] = x;
+            update(y);
+            update(x);
+        }
+
+        // Iterative splay: push reversals down from the splay root first
+        private void splay(int x) {
+            int depth = 0;
+            path[depth++] = x;
+            for (int y = x; !isSplayRoot(y); y = parent[y]) {
+                path[depth++] = parent[y];
+            }
+            while (depth > 0) {
+                pushDown(path[--depth]);
+            }
+            while (!isSplayRoot(x)) {
+                int y = parent[x];
+                if (!isSplayRoot(y)) {
+                    int z = parent[y];
+                    rotate((left[z] == y) == (left[y] == x) ? y : x);
+                }
+                rotate(x);
+            }
+        }
+
+        // Make the root..x path preferred and splay x to the top of it
+        private void access(int x) {
+            for (int last = NONE, y = x; y != NONE; last = y, y = parent[y]) {
+                splay(y);
+                right[y] = last;
+                update(y);
+            }
+            splay(x);
+        }
+
+        private void makeRoot(int x) {
+            access(x);
+            reversed[x] ^= true;
+        }
+
+        private int findRoot(int x) {
+            access(x);
+            while (true) {
+                pushDown(x);
+                if (left[x] == NONE) {
+                    break;
+                }
+                x = left[x];
+            }
+            splay(x);
+            return x;
+        }
+
+        private void link(int x, int y) {
+            makeRoot(x);
+            parent[x] = y;
+        }
+
+        // Remove the forest edge between adjacent nodes x and y
+        private void cut(int x, int y) {
+            makeRoot(x);
+            access(y);
+            left[y] = NONE;
+            parent[x] = NONE;
+            update(y);
+        }
+    }
+
+    // Boruvka and Prim on the same random graph, plus the algorithm that
+    // minimumSpanningTree selects for it
+    private static void benchmarkParallelMST(EdgeArrays edges, int n) {
+        long start = System.nanoTime();
+        MstResult boruvka = boruvkaMST(edges, n);
+        long boruvkaTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        MstResult prim = primMST(edges, n);
+        long primTime = System.nanoTime() - start;
+
+        System.out.println("Boruvka (parallel rounds):     " + boruvkaTime / 1_000_000 + " ms, weight " + boruvka.totalWeight);
+        System.out.println("Prim (indexed heap):           " + primTime / 1_000_000 + " ms, weight " + prim.totalWeight);
+        System.out.println("Selected automatically:        weight " + minimumSpanningTree(edges, n).totalWeight);
+    }
+
+    // Online updates: inserts random edges one at a time into an
+    // IncrementalMST built from edges, against recomputing the MST from
+    // scratch once. The new edges are appended to edges as well
+    private static void benchmarkIncrementalMST(EdgeArrays edges, int n, int inserts, Random random) {
+        IncrementalMST online = new IncrementalMST(edges, n);
+        long start = System.nanoTime();
+        for (int i = 0; i < inserts; i++) {
+            int u = random.nextInt(n), v = random.nextInt(n), w = random.nextInt(1_000_000);
+            online.addEdge(u, v, w);
+            edges.add(u, v, w);
+        }
+        long onlineTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        MstResult rebuilt = minimumSpanningTree(edges, n);
+        long rebuildTime = System.nanoTime() - start;
+
+        System.out.printf("%nIncremental MST: %d inserts, %.2f us per insert, weight %d%n",
+                inserts, onlineTime / 1_000.0 / inserts, online.totalWeight());
+        System.out.println("One full rebuild: " + rebuildTime / 1_000_000 + " ms, weight " + rebuilt.totalWeight);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
         int vertices = 4;
         Graph graph = new Graph(vertices);
 
@@ -66,6 +812,48 @@ public class code {
         graph.addEdge(2, 3, 4);
 
         graph.kruskalMST();
+
+        System.out.println("\nStruct-of-arrays Kruskal:");
+        kruskalMST(graph.toEdgeArrays(), vertices).print();
+
+        // Pass a vertex count and optionally an edge count (e.g. 200000
+        // 4000000) to compare the variants on a larger random graph
+        if (args.length > 0) {
+            int n = Integer.parseInt(args[0]);
+            int m = args.length > 1 ? Integer.parseInt(args[1]) : 20 * n;
+            Random random = new Random(7);
+            Graph big = new Graph(n);
+            EdgeArrays bigEdges = new EdgeArrays(m);
+            for (int i = 0; i < m; i++) {
+                int u = random.nextInt(n), v = random.nextInt(n), w = random.nextInt(1_000_000);
+                big.addEdge(u, v, w);
+                bigEdges.add(u, v, w);
+            }
+
+            long start = System.nanoTime();
+            MstResult objects = big.kruskalMSTResult();
+            long objectTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            MstResult sorted = kruskalMST(bigEdges, n);
+            long sortedTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            MstResult filtered = filterKruskalMST(bigEdges, n);
+            long filteredTime = System.nanoTime() - start;
+
+            System.out.println("\n" + n + " vertices, " + m + " edges:");
+            System.out.println("List<Edge> + Collections.sort: " + objectTime / 1_000_000 + " ms, weight " + objects.totalWeight);
+            System.out.println("Packed keys + parallelSort:    " + sortedTime / 1_000_000 + " ms, weight " + sorted.totalWeight);
+            System.out.println("Filter-Kruskal:                " + filteredTime / 1_000_000 + " ms, weight " + filtered.totalWeight);
+
+            benchmarkParallelMST(bigEdges, n);
+
+            benchmarkIncrementalMST(bigEdges, n, 10_000, random);
+
+            System.out.println("\nConcurrent union-find, " + m + " random unions on " + n + " elements:");
+            benchmarkUnionFind(n, m);
+        }
     }
 
     static class Graph {
@@ -81,6 +869,29 @@ public class code {
             edges.add(new Edge(source, destination, weight));
         }
 
+        EdgeArrays toEdgeArrays() {
+            EdgeArrays arrays = new EdgeArrays(edges.size());
+            for (Edge edge : edges) {
+                arrays.add(edge.source, edge.destination, edge.weight);
+            }
+            return arrays;
+        }
+
+        // Same algorithm as kruskalMST, returning the edges instead of printing
+        MstResult kruskalMSTResult() {
+            List<Edge> sorted = new ArrayList<>(edges);
+            Collections.sort(sorted);
+            EdgeArrays arrays = new EdgeArrays(sorted.size());
+            for (Edge edge : sorted) {
+                arrays.add(edge.source, edge.destination, edge.weight);
+            }
+            MstBuilder mst = new MstBuilder(arrays, vertices);
+            for (int i = 0; i < arrays.size && !mst.isComplete(); i++) {
+                mst.offer(i);
+            }
+            return mst.result();
+        }
+
         void kruskalMST() {
             List<Edge> result = new ArrayList<>();
             
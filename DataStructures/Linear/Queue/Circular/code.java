@@ -1,5 +1,16 @@
 package DataStructures.Linear.Queue.Circular;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
 public class code {
     private int[] array;
     private int front;
@@ -76,7 +87,593 @@ public class code {
         System.out.println();
     }
     
-    public static void main(String[] args) {
+    // ---------------------------------------------------------------------
+    // Lock-free bounded ring buffers
+    //
+    // Both rings below grow the idea of this circular queue into something
+    // that can be shared between threads without locks:
+    //  - capacity is rounded up to a power of two, so "index % capacity"
+    //    becomes "index & mask"
+    //  - head and tail are ever-increasing long counters instead of wrapped
+    //    indices, so full is "tail - head == capacity" and empty is
+    //    "tail == head"
+    //  - head and tail live on different cache lines (padding below), so the
+    //    producer and the consumer do not invalidate each other's line
+    //  - poll() returns a long; EMPTY (Long.MIN_VALUE) can never be a
+    //    stored int, unlike the Integer.MIN_VALUE sentinel above
+    // ---------------------------------------------------------------------
+
+    public static final long EMPTY = Long.MIN_VALUE;
+
+    static int ringCapacity(int requested) {
+        if (requested <= 0 || requested > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        return requested == 1 ? 1 : Integer.highestOneBit(requested - 1) << 1;
+    }
+
+    // Padding classes: the JVM lays out superclass fields first, so the
+    // producer counter, the consumer counter and the fields of subclasses
+    // end up at least 64 bytes (one cache line) apart.
+    abstract static class LeftPad {
+        long p00, p01, p02, p03, p04, p05, p06, p07;
+    }
+
+    abstract static class ProducerIndex extends LeftPad {
+        long tail;          // next slot to write, accessed through TAIL
+        long producerCache; // producer's last seen head (SPSC only)
+    }
+
+    abstract static class MiddlePad extends ProducerIndex {
+        long p10, p11, p12, p13, p14, p15, p16, p17;
+    }
+
+    abstract static class ConsumerIndex extends MiddlePad {
+        long head;          // next slot to read, accessed through HEAD
+        long consumerCache; // consumer's last seen tail (SPSC only)
+    }
+
+    // Common API of the SPSC and MPMC rings
+    public abstract static class RingBuffer extends ConsumerIndex {
+        long p20, p21, p22, p23, p24, p25, p26, p27;
+
+        static final VarHandle TAIL;
+        static final VarHandle HEAD;
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                TAIL = lookup.findVarHandle(ProducerIndex.class, "tail", long.class);
+                HEAD = lookup.findVarHandle(ConsumerIndex.class, "head", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        public abstract boolean offer(int item);
+
+        // Add up to len items from src[off..]; returns how many were added
+        public abstract int offer(int[] src, int off, int len);
+
+        // Returns the next item, or EMPTY if the ring is empty
+        public abstract long poll();
+
+        // Move up to len items into dst[off..]; returns how many were taken
+        public abstract int drain(int[] dst, int off, int len);
+
+        public abstract int capacity();
+
+        // Approximate while other threads are working
+        public int size() {
+            long head = (long) HEAD.getAcquire(this);
+            long tail = (long) TAIL.getAcquire(this);
+            return (int) Math.max(0, tail - head);
+        }
+
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+    }
+
+    // Single-producer / single-consumer ring. Exactly one thread may call the
+    // offer methods and exactly one (other) thread the poll/drain methods.
+    // Each side keeps a cached copy of the other side's counter and only
+    // re-reads it when the cache says full/empty.
+    public static final class SpscRingBuffer extends RingBuffer {
+        private final int[] buffer;
+        private final int mask;
+
+        public SpscRingBuffer(int capacity) {
+            int ring = ringCapacity(capacity);
+            this.buffer = new int[ring];
+            this.mask = ring - 1;
+        }
+
+        @Override
+        public int capacity() {
+            return buffer.length;
+        }
+
+        @Override
+        public boolean offer(int item) {
+            long t = tail;
+            if (t - producerCache >= buffer.length) {
+                producerCache = (long) HEAD.getAcquire(this);
+                if (t - producerCache >= buffer.length) {
+                    return false; // full
+                }
+            }
+            buffer[(int) t & mask] = item;
+            TAIL.setRelease(this, t + 1);
+            return true;
+        }
+
+        @Override
+        public int offer(int[] src, int off, int len) {
+            long t = tail;
+            long free = buffer.length - (t - producerCache);
+            if (free < len) {
+                producerCache = (long) HEAD.getAcquire(this);
+                free = buffer.length - (t - producerCache);
+            }
+            int n = (int) Math.min(len, free);
+            if (n <= 0) {
+                return 0;
+            }
+            int start = (int) t & mask;
+            int first = Math.min(n, buffer.length - start);
+            System.arraycopy(src, off, buffer, start, first);
+            System.arraycopy(src, off + first, buffer, 0, n - first);
+            TAIL.setRelease(this, t + n);
+            return n;
+        }
+
+        @Override
+        public long poll() {
+            long h = head;
+            if (h >= consumerCache) {
+                consumerCache = (long) TAIL.getAcquire(this);
+                if (h >= consumerCache) {
+                    return EMPTY;
+                }
+            }
+            int item = buffer[(int) h & mask];
+            HEAD.setRelease(this, h + 1);
+            return item;
+        }
+
+        @Override
+        public int drain(int[] dst, int off, int len) {
+            long h = head;
+            long available = consumerCache - h;
+            if (available < len) {
+                consumerCache = (long) TAIL.getAcquire(this);
+                available = consumerCache - h;
+            }
+            int n = (int) Math.min(len, available);
+            if (n <= 0) {
+                return 0;
+            }
+            int start = (int) h & mask;
+            int first = Math.min(n, buffer.length - start);
+            System.arraycopy(buffer, start, dst, off, first);
+            System.arraycopy(buffer, 0, dst, off + first, n - first);
+            HEAD.setRelease(this, h + n);
+            return n;
+        }
+    }
+
+    // Multi-producer / multi-consumer ring (Dmitry Vyukov's bounded queue).
+    // Every slot has a sequence number that tells whose turn it is:
+    //  - sequence == position      -> free, a producer may claim it
+    //  - sequence == position + 1  -> full, a consumer may claim it
+    // Producers and consumers claim positions with a CAS on tail/head and
+    // then publish the slot by advancing its sequence. The batch calls
+    // claim a whole run of positions with a single CAS.
+    public static final class MpmcRingBuffer extends RingBuffer {
+        private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+
+        private final int[] buffer;
+        private final long[] sequences;
+        private final int mask;
+
+        public MpmcRingBuffer(int capacity) {
+            int ring = ringCapacity(capacity);
+            this.buffer = new int[ring];
+            this.sequences = new long[ring];
+            this.mask = ring - 1;
+            for (int i = 0; i < ring; i++) {
+                sequences[i] = i;
+            }
+        }
+
+        @Override
+        public int capacity() {
+            return buffer.length;
+        }
+
+        @Override
+        public boolean offer(int item) {
+            while (true) {
+                long t = (long) TAIL.getAcquire(this);
+                int index = (int) t & mask;
+                long diff = (long) SEQUENCE.getAcquire(sequences, index) - t;
+                if (diff == 0) {
+                    if (TAIL.compareAndSet(this, t, t + 1)) {
+                        buffer[index] = item;
+                        SEQUENCE.setRelease(sequences, index, t + 1);
+                        return true;
+                    }
+                } else if (diff < 0) {
+                    return false; // full
+                }
+                // diff > 0: another producer took this slot, retry
+            }
+        }
+
+        // Counts the free slots from tail on, then claims all of them with
+        // one CAS. Once tail is still t at the CAS, no other producer can
+        // own any of those positions, and consumers never touch a free slot,
+        // so every slot counted is still free.
+        @Override
+        public int offer(int[] src, int off, int len) {
+            if (len <= 0) {
+                return 0;
+            }
+            while (true) {
+                long t = (long) TAIL.getAcquire(this);
+                long diff = (long) SEQUENCE.getAcquire(sequences, (int) t & mask) - t;
+                if (diff < 0) {
+                    return 0; // full
+                }
+                if (diff > 0) {
+                    continue; // another producer took this slot, retry
+                }
+                int n = 1;
+                while (n < len && (long) SEQUENCE.getAcquire(sequences, (int) (t + n) & mask) == t + n) {
+                    n++;
+                }
+                if (TAIL.compareAndSet(this, t, t + n)) {
+                    for (int i = 0; i < n; i++) {
+                        int index = (int) (t + i) & mask;
+                        buffer[index] = src[off + i];
+                        SEQUENCE.setRelease(sequences, index, t + i + 1);
+                    }
+                    return n;
+                }
+            }
+        }
+
+        @Override
+        public long poll() {
+            while (true) {
+                long h = (long) HEAD.getAcquire(this);
+                int index = (int) h & mask;
+                long diff = (long) SEQUENCE.getAcquire(sequences, index) - (h + 1);
+                if (diff == 0) {
+                    if (HEAD.compareAndSet(this, h, h + 1)) {
+                        int item = buffer[index];
+                        SEQUENCE.setRelease(sequences, index, h + buffer.length);
+                        return item;
+                    }
+                } else if (diff < 0) {
+                    return EMPTY;
+                }
+                // diff > 0: another consumer took this slot, retry
+            }
+        }
+
+        // Counts the published slots from head on and claims them with one
+        // CAS, mirroring the batch offer
+        @Override
+        public int drain(int[] dst, int off, int len) {
+            if (len <= 0) {
+                return 0;
+            }
+            while (true) {
+                long h = (long) HEAD.getAcquire(this);
+                long diff = (long) SEQUENCE.getAcquire(sequences, (int) h & mask) - (h + 1);
+                if (diff < 0) {
+                    return 0; // empty
+                }
+                if (diff > 0) {
+                    continue; // another consumer took this slot, retry
+                }
+                int n = 1;
+                while (n < len && (long) SEQUENCE.getAcquire(sequences, (int) (h + n) & mask) == h + n + 1) {
+                    n++;
+                }
+                if (HEAD.compareAndSet(this, h, h + n)) {
+                    for (int i = 0; i < n; i++) {
+                        int index = (int) (h + i) & mask;
+                        dst[off + i] = buffer[index];
+                        SEQUENCE.setRelease(sequences, index, h + i + buffer.length);
+                    }
+                    return n;
+                }
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Wait strategies
+    //
+    // Instead of dropping an item when the ring is full (or giving up when
+    // it is empty), a thread asks its WaitStrategy to wait until the ring
+    // may have room (or data) again and then retries.
+    // ---------------------------------------------------------------------
+
+    public interface WaitStrategy {
+        // Wait until 'ready' may have become true
+        void await(BooleanSupplier ready) throws InterruptedException;
+
+        // Wake up threads blocked in await after the ring changed
+        default void signalAll() {
+        }
+    }
+
+    // Lowest latency, but burns a whole core while waiting
+    public static final class BusySpinWaitStrategy implements WaitStrategy {
+        @Override
+        public void await(BooleanSupplier ready) throws InterruptedException {
+            while (!ready.getAsBoolean()) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    // Spins for a while, then gives the CPU to other threads
+    public static final class YieldingWaitStrategy implements WaitStrategy {
+        private static final int SPIN_TRIES = 100;
+
+        @Override
+        public void await(BooleanSupplier ready) throws InterruptedException {
+            int tries = 0;
+            while (!ready.getAsBoolean()) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                if (tries++ < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+    }
+
+    // Sleeps with exponential backoff up to maxParkNanos; cheap on CPU
+    public static final class ParkingWaitStrategy implements WaitStrategy {
+        private final long maxParkNanos;
+
+        public ParkingWaitStrategy(long maxParkNanos) {
+            this.maxParkNanos = maxParkNanos;
+        }
+
+        public ParkingWaitStrategy() {
+            this(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+
+        @Override
+        public void await(BooleanSupplier ready) throws InterruptedException {
+            long parkNanos = 1_000;
+            while (!ready.getAsBoolean()) {
+                LockSupport.parkNanos(parkNanos);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                parkNanos = Math.min(parkNanos * 2, maxParkNanos);
+            }
+        }
+    }
+
+    // Blocks on a Condition and is woken by signalAll. It uses a
+    // ReentrantLock rather than synchronized/wait, so a virtual thread that
+    // blocks here unmounts instead of pinning its carrier thread.
+    public static final class BlockingWaitStrategy implements WaitStrategy {
+        // Upper bound on one wait, in case a signal raced with the check
+        private static final long RECHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final AtomicInteger waiters = new AtomicInteger();
+
+        @Override
+        public void await(BooleanSupplier ready) throws InterruptedException {
+            if (ready.getAsBoolean()) {
+                return;
+            }
+            lock.lockInterruptibly();
+            waiters.incrementAndGet();
+            try {
+                while (!ready.getAsBoolean()) {
+                    changed.awaitNanos(RECHECK_NANOS);
+                }
+            } finally {
+                waiters.decrementAndGet();
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void signalAll() {
+            if (waiters.get() == 0) {
+                return; // fast path: nobody is blocked
+            }
+            lock.lock();
+            try {
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Blocking front end for a RingBuffer: put waits while the ring is full
+    // and take waits while it is empty, so bursts are absorbed instead of
+    // dropped. Also counts how often each side had to wait.
+    public static final class BlockingRing {
+        private final RingBuffer ring;
+        private final WaitStrategy producerWait;
+        private final WaitStrategy consumerWait;
+        private final BooleanSupplier hasRoom;
+        private final BooleanSupplier hasData;
+        private final LongAdder fullEvents = new LongAdder();
+        private final LongAdder emptyEvents = new LongAdder();
+
+        public BlockingRing(RingBuffer ring, WaitStrategy producerWait, WaitStrategy consumerWait) {
+            this.ring = ring;
+            this.producerWait = producerWait;
+            this.consumerWait = consumerWait;
+            this.hasRoom = () -> ring.size() < ring.capacity();
+            this.hasData = () -> ring.size() > 0;
+        }
+
+        public BlockingRing(RingBuffer ring, WaitStrategy waitStrategy) {
+            this(ring, waitStrategy, waitStrategy);
+        }
+
+        public void put(int item) throws InterruptedException {
+            if (!ring.offer(item)) {
+                fullEvents.increment();
+                do {
+                    producerWait.await(hasRoom);
+                } while (!ring.offer(item));
+            }
+            consumerWait.signalAll();
+        }
+
+        // Blocks until all len items from src[off..] are in the ring
+        public void putAll(int[] src, int off, int len) throws InterruptedException {
+            int added = ring.offer(src, off, len);
+            if (added < len) {
+                fullEvents.increment();
+                while (added < len) {
+                    consumerWait.signalAll();
+                    producerWait.await(hasRoom);
+                    added += ring.offer(src, off + added, len - added);
+                }
+            }
+            consumerWait.signalAll();
+        }
+
+        public int take() throws InterruptedException {
+            long item = ring.poll();
+            if (item == EMPTY) {
+                emptyEvents.increment();
+                do {
+                    consumerWait.await(hasData);
+                    item = ring.poll();
+                } while (item == EMPTY);
+            }
+            producerWait.signalAll();
+            return (int) item;
+        }
+
+        // Blocks until at least one item is available, then drains up to len
+        public int drain(int[] dst, int off, int len) throws InterruptedException {
+            int n = ring.drain(dst, off, len);
+            if (n == 0) {
+                emptyEvents.increment();
+                do {
+                    consumerWait.await(hasData);
+                    n = ring.drain(dst, off, len);
+                } while (n == 0);
+            }
+            producerWait.signalAll();
+            return n;
+        }
+
+        // Metrics
+        public int depth() {
+            return ring.size();
+        }
+
+        public long fullEvents() {
+            return fullEvents.sum();
+        }
+
+        public long emptyEvents() {
+            return emptyEvents.sum();
+        }
+
+        public String metrics() {
+            return "depth=" + depth() + "/" + ring.capacity()
+                    + " fullEvents=" + fullEvents() + " emptyEvents=" + emptyEvents();
+        }
+    }
+
+    // Runs 'producers' threads offering 'perProducer' items each and the same
+    // number of consumers draining them. Prints throughput and the latency
+    // percentiles of a successful offer (including retries while full).
+    private static void benchmarkRing(String name, RingBuffer ring, int producers, int perProducer)
+            throws InterruptedException {
+        final int sampleEvery = 64;
+        long[][] samples = new long[producers][perProducer / sampleEvery + 1];
+        int[] sampleCounts = new int[producers];
+        long total = (long) producers * perProducer;
+        java.util.concurrent.atomic.AtomicLong consumed = new java.util.concurrent.atomic.AtomicLong();
+        Thread[] threads = new Thread[2 * producers];
+
+        for (int p = 0; p < producers; p++) {
+            final int id = p;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    boolean sample = i % sampleEvery == 0;
+                    long start = sample ? System.nanoTime() : 0;
+                    while (!ring.offer(i)) {
+                        Thread.onSpinWait();
+                        Thread.yield();
+                    }
+                    if (sample) {
+                        samples[id][sampleCounts[id]++] = System.nanoTime() - start;
+                    }
+                }
+            });
+            threads[producers + p] = new Thread(() -> {
+                int[] batch = new int[64];
+                while (consumed.get() < total) {
+                    int n = ring.drain(batch, 0, batch.length);
+                    if (n == 0) {
+                        Thread.onSpinWait();
+                        Thread.yield();
+                    } else {
+                        consumed.addAndGet(n);
+                    }
+                }
+            });
+        }
+
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        int count = 0;
+        for (int c : sampleCounts) {
+            count += c;
+        }
+        long[] latencies = new long[count];
+        int k = 0;
+        for (int p = 0; p < producers; p++) {
+            System.arraycopy(samples[p], 0, latencies, k, sampleCounts[p]);
+            k += sampleCounts[p];
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("%s %d:%d  %.2f Mops/s  offer p50=%dns p99=%dns p99.9=%dns%n",
+                name, producers, producers, total * 1000.0 / elapsed,
+                latencies[count / 2], latencies[(int) (count * 0.99)], latencies[(int) (count * 0.999)]);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
         code queue = new code(5);
         
         queue.enqueue(1);
@@ -96,5 +693,58 @@ public class code {
         queue.enqueue(7);
         
         queue.display();
+
+        System.out.println("\nSPSC ring buffer batch offer/drain:");
+        SpscRingBuffer spsc = new SpscRingBuffer(6); // rounded up to 8
+        int added = spsc.offer(new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}, 0, 10);
+        System.out.println("Capacity " + spsc.capacity() + ", added " + added);
+        int[] out = new int[4];
+        int taken = spsc.drain(out, 0, out.length);
+        System.out.println("Drained " + taken + ": " + Arrays.toString(out));
+        System.out.println("Poll: " + spsc.poll() + ", size now " + spsc.size());
+
+        System.out.println("\nBursty producer on a small ring (no items dropped):");
+        WaitStrategy[] strategies = {
+                new BusySpinWaitStrategy(), new YieldingWaitStrategy(),
+                new ParkingWaitStrategy(), new BlockingWaitStrategy()
+        };
+        for (WaitStrategy strategy : strategies) {
+            BlockingRing blocking = new BlockingRing(new MpmcRingBuffer(16), strategy);
+            int items = 10_000;
+            Thread producer = new Thread(() -> {
+                try {
+                    int[] burst = new int[100];
+                    for (int i = 0; i < items; i += burst.length) {
+                        Arrays.fill(burst, 1);
+                        blocking.putAll(burst, 0, burst.length);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producer.start();
+            long received = 0;
+            int[] batch = new int[8];
+            while (received < items) {
+                int n = blocking.drain(batch, 0, batch.length);
+                for (int i = 0; i < n; i++) {
+                    received += batch[i];
+                }
+            }
+            producer.join();
+            System.out.println(strategy.getClass().getSimpleName() + ": received " + received
+                    + ", " + blocking.metrics());
+        }
+
+        // Pass an item count (e.g. 2000000) to measure ring throughput and latency
+        if (args.length > 0) {
+            System.out.println("\nRing buffer throughput:");
+            int perProducer = Integer.parseInt(args[0]);
+            benchmarkRing("SPSC", new SpscRingBuffer(1024), 1, perProducer);
+            int cores = Runtime.getRuntime().availableProcessors();
+            for (int producers = 1; producers <= Math.max(1, cores / 2); producers *= 2) {
+                benchmarkRing("MPMC", new MpmcRingBuffer(1024), producers, perProducer / producers);
+            }
+        }
     }
 }
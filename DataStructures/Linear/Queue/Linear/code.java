@@ -1,27 +1,43 @@
 package DataStructures.Linear.Queue.Linear;
 
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+
 public class code {
     // Queue internal variables
+    // The array is used as a ring: front and rear wrap around, so slots freed
+    // by dequeue are reused. When the ring is full it doubles in size.
     private int front, rear;
-    private int capacity;
+    private int size;
     private Object[] array;
+    private static final int DEFAULT_CAPACITY = 16;
 
     // Constructor
     public code(int capacity) {
-        this.capacity = capacity;
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
         front = 0;
         rear = -1;
-        array = new Object[this.capacity];
+        size = 0;
+        array = new Object[capacity];
+    }
+
+    public code() {
+        this(DEFAULT_CAPACITY);
     }
 
     // Method to add an element to the queue
+    // Amortized O(1): the array grows by doubling when it is full
     public void enqueue(Object item) {
-        if (isFull()) {
-            System.out.println("Queue is full, cannot enqueue");
-            return;
+        if (size == array.length) {
+            grow();
+        }
+        if (++rear == array.length) {
+            rear = 0; // wrap around
         }
-        array[++rear] = item;
-        System.out.println(item + " enqueued to queue");
+        array[rear] = item;
+        size++;
     }
 
     // Method to remove an element from the queue
@@ -30,7 +46,12 @@ public class code {
             System.out.println("Queue is empty, cannot dequeue");
             return null;
         }
-        Object item = array[front++];
+        Object item = array[front];
+        array[front] = null; // Clear the slot so the item can be garbage collected
+        if (++front == array.length) {
+            front = 0; // wrap around
+        }
+        size--;
         return item;
     }
 
@@ -45,16 +66,177 @@ public class code {
 
     // Method to check if the queue is empty
     public boolean isEmpty() {
-        return (front > rear);
+        return size == 0;
     }
 
-    // Method to check if the queue is full
+    /**
+     * Always false: the queue grows on demand, so it is never full
+     * Kept for existing callers; use size() to check the number of elements
+     * @deprecated since enqueue grows the array, fullness no longer applies
+     */
+    @Deprecated
     public boolean isFull() {
-        return (rear == capacity - 1);
+        return false;
     }
 
     // Method to get the size of the queue
     public int size() {
-        return rear - front + 1;
+        return size;
+    }
+
+    // Double the array and unroll the ring so front moves back to index 0
+    private void grow() {
+        Object[] newArray = new Object[array.length * 2];
+        // Only called when full, so the ring is front..end then 0..front-1
+        int firstPart = array.length - front;
+        System.arraycopy(array, front, newArray, 0, firstPart);
+        System.arraycopy(array, 0, newArray, firstPart, front);
+        array = newArray;
+        front = 0;
+        rear = size - 1;
+    }
+
+    // Queue of primitive ints: same growable ring, but without boxing each
+    // element into an Integer. The capacity is kept a power of two so the
+    // wrap-around is a mask instead of a division.
+    public static class IntQueue {
+        private int[] array;
+        private int front;
+        private int size;
+        private int mask;
+
+        public IntQueue(int capacity) {
+            if (capacity <= 0 || capacity > (1 << 30)) {
+                throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+            }
+            int ring = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+            array = new int[ring];
+            mask = ring - 1;
+        }
+
+        public IntQueue() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        public void enqueue(int item) {
+            if (size == array.length) {
+                grow();
+            }
+            array[(front + size) & mask] = item;
+            size++;
+        }
+
+        public int dequeue() {
+            if (isEmpty()) {
+                throw new NoSuchElementException("Queue is empty");
+            }
+            int item = array[front];
+            front = (front + 1) & mask;
+            size--;
+            return item;
+        }
+
+        public int peek() {
+            if (isEmpty()) {
+                throw new NoSuchElementException("Queue is empty");
+            }
+            return array[front];
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        private void grow() {
+            int[] newArray = new int[array.length * 2];
+            int firstPart = array.length - front;
+            System.arraycopy(array, front, newArray, 0, firstPart);
+            System.arraycopy(array, 0, newArray, firstPart, front);
+            array = newArray;
+            mask = newArray.length - 1;
+            front = 0;
+        }
+    }
+
+    // Producer/consumer hand-off pattern: push a batch, then drain it, many
+    // times over. Compares this queue, IntQueue and java.util.ArrayDeque.
+    private static void benchmark(int rounds, int batch) {
+        long checksum = 0;
+
+        code objectQueue = new code();
+        long start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            for (int i = 0; i < batch; i++) {
+                objectQueue.enqueue(i);
+            }
+            while (!objectQueue.isEmpty()) {
+                checksum += (Integer) objectQueue.dequeue();
+            }
+        }
+        long objectTime = System.nanoTime() - start;
+
+        IntQueue intQueue = new IntQueue();
+        start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            for (int i = 0; i < batch; i++) {
+                intQueue.enqueue(i);
+            }
+            while (!intQueue.isEmpty()) {
+                checksum += intQueue.dequeue();
+            }
+        }
+        long intTime = System.nanoTime() - start;
+
+        ArrayDeque<Integer> deque = new ArrayDeque<>();
+        start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            for (int i = 0; i < batch; i++) {
+                deque.addLast(i);
+            }
+            while (!deque.isEmpty()) {
+                checksum += deque.pollFirst();
+            }
+        }
+        long dequeTime = System.nanoTime() - start;
+
+        long ops = (long) rounds * batch;
+        System.out.println("Batch " + batch + " (checksum " + checksum + "):");
+        System.out.printf("  code (Object):  %.2f ns/item%n", (double) objectTime / ops);
+        System.out.printf("  IntQueue:       %.2f ns/item%n", (double) intTime / ops);
+        System.out.printf("  ArrayDeque:     %.2f ns/item%n", (double) dequeTime / ops);
+    }
+
+    public static void main(String[] args) {
+        code queue = new code(2);
+        for (int i = 1; i <= 5; i++) {
+            queue.enqueue(i);
+        }
+        System.out.println("Size after 5 enqueues on capacity 2: " + queue.size());
+        System.out.println("Dequeued: " + queue.dequeue() + ", " + queue.dequeue());
+        queue.enqueue(6);
+        System.out.print("Remaining:");
+        while (!queue.isEmpty()) {
+            System.out.print(" " + queue.dequeue());
+        }
+        System.out.println();
+
+        IntQueue ints = new IntQueue(3);
+        for (int i = 10; i <= 50; i += 10) {
+            ints.enqueue(i);
+        }
+        System.out.println("IntQueue front: " + ints.peek() + ", size: " + ints.size());
+
+        // Pass a round count (e.g. 200000) to run the hand-off benchmark:
+        // that many rounds of 64 items, then 1/100 as many of 8192 items
+        if (args.length > 0) {
+            int rounds = Integer.parseInt(args[0]);
+            System.out.println("\nBenchmark:");
+            benchmark(rounds, 64);
+            benchmark(Math.max(1, rounds / 100), 8_192);
+        }
     }
 }
@@ -1,33 +1,43 @@
 package DataStructures.Linear.Queue.Priority;
 
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
 public class code {
     // Priority Queue implementation using binary heap
     public static class PriorityQueue {
-        // A class representing an element with a priority
-        private static class Node {
-            int data;
-            int priority;
-            
-            public Node(int data, int priority) {
-                this.data = data;
-                this.priority = priority;
-            }
-        }
-
-        private Node[] heap;
+        // Elements are stored as parallel arrays (struct of arrays), so an
+        // enqueue does not allocate a node object
+        private int[] data;
+        private int[] priority;
         private int size;
         private int capacity;
+        // Stable mode: elements with equal priority leave in FIFO order.
+        // Each element gets an insertion number used as a tie-breaker.
+        private long[] sequence;
+        private long nextSequence;
 
         public PriorityQueue(int capacity) {
+            this(capacity, false);
+        }
+
+        public PriorityQueue(int capacity, boolean stable) {
             this.capacity = capacity;
-            this.heap = new Node[capacity];
+            this.data = new int[capacity];
+            this.priority = new int[capacity];
+            this.sequence = stable ? new long[capacity] : null;
             this.size = 0;
         }
-        
+
         public PriorityQueue() {
             this(10); // Default capacity of 10
         }
 
+        public boolean isStable() {
+            return sequence != null;
+        }
+
         public boolean isEmpty() {
             return size == 0;
         }
@@ -48,12 +58,34 @@ public class code {
             return 2 * i + 2;
         }
 
+        // True if the element at i should leave before the element at j
+        private boolean higher(int i, int j) {
+            if (priority[i] != priority[j]) {
+                return priority[i] > priority[j];
+            }
+            return sequence != null && sequence[i] < sequence[j];
+        }
+
+        private void swap(int i, int j) {
+            int tempData = data[i];
+            data[i] = data[j];
+            data[j] = tempData;
+
+            int tempPriority = priority[i];
+            priority[i] = priority[j];
+            priority[j] = tempPriority;
+
+            if (sequence != null) {
+                long tempSequence = sequence[i];
+                sequence[i] = sequence[j];
+                sequence[j] = tempSequence;
+            }
+        }
+
         private void siftUp(int i) {
             int parent = parent(i);
-            if (i > 0 && heap[i].priority > heap[parent].priority) {
-                Node temp = heap[i];
-                heap[i] = heap[parent];
-                heap[parent] = temp;
+            if (i > 0 && higher(i, parent)) {
+                swap(i, parent);
                 siftUp(parent);
             }
         }
@@ -61,20 +93,18 @@ public class code {
         private void siftDown(int i) {
             int maxIndex = i;
             int left = leftChild(i);
-            
-            if (left < size && heap[left].priority > heap[maxIndex].priority) {
+
+            if (left < size && higher(left, maxIndex)) {
                 maxIndex = left;
             }
-            
+
             int right = rightChild(i);
-            if (right < size && heap[right].priority > heap[maxIndex].priority) {
+            if (right < size && higher(right, maxIndex)) {
                 maxIndex = right;
             }
-            
+
             if (i != maxIndex) {
-                Node temp = heap[i];
-                heap[i] = heap[maxIndex];
-                heap[maxIndex] = temp;
+                swap(i, maxIndex);
                 siftDown(maxIndex);
             }
         }
@@ -84,23 +114,64 @@ public class code {
                 System.out.println("Priority queue is full");
                 return;
             }
-            
-            Node node = new Node(data, priority);
-            heap[size] = node;
+
+            this.data[size] = data;
+            this.priority[size] = priority;
+            if (sequence != null) {
+                sequence[size] = nextSequence++;
+            }
             siftUp(size);
             size++;
         }
 
+        // Add many elements at once. When the batch is at least as large as
+        // the current queue, the whole array is re-heapified bottom-up in
+        // O(n) instead of doing one O(log n) sift per element.
+        public void enqueueAll(int[] data, int[] priority) {
+            if (data.length != priority.length) {
+                throw new IllegalArgumentException("Data and priority arrays must have the same length");
+            }
+            int count = data.length;
+            if (size + count > capacity) {
+                System.out.println("Priority queue is full");
+                return;
+            }
+
+            System.arraycopy(data, 0, this.data, size, count);
+            System.arraycopy(priority, 0, this.priority, size, count);
+            if (sequence != null) {
+                for (int i = 0; i < count; i++) {
+                    sequence[size + i] = nextSequence++;
+                }
+            }
+
+            if (count >= size) {
+                size += count;
+                for (int i = parent(size - 1); i >= 0; i--) {
+                    siftDown(i);
+                }
+            } else {
+                for (int i = 0; i < count; i++) {
+                    siftUp(size);
+                    size++;
+                }
+            }
+        }
+
         public int dequeue() {
             if (isEmpty()) {
                 System.out.println("Priority queue is empty");
                 return -1;
             }
-            
-            int result = heap[0].data;
-            heap[0] = heap[size - 1];
+
+            int result = data[0];
             size--;
-            
+            data[0] = data[size];
+            priority[0] = priority[size];
+            if (sequence != null) {
+                sequence[0] = sequence[size];
+            }
+
             if (size > 0) {
                 siftDown(0);
             }
@@ -112,7 +183,16 @@ public class code {
                 System.out.println("Priority queue is empty");
                 return -1;
             }
-            return heap[0].data;
+            return data[0];
+        }
+
+        // Priority of the front element
+        public int peekPriority() {
+            if (isEmpty()) {
+                System.out.println("Priority queue is empty");
+                return -1;
+            }
+            return priority[0];
         }
 
         public void display() {
@@ -120,33 +200,370 @@ public class code {
                 System.out.println("Priority queue is empty");
                 return;
             }
-            
+
             System.out.println("Priority Queue contents:");
             for (int i = 0; i < size; i++) {
-                System.out.println("Data: " + heap[i].data + ", Priority: " + heap[i].priority);
+                System.out.println("Data: " + data[i] + ", Priority: " + priority[i]);
             }
         }
-        
+
         public int getSize() {
             return size;
         }
     }
 
-    public static void main(String[] args) {
+    // Bucket (radix) priority queue for small integer priority ranges
+    // [0, maxPriority]. Every priority has its own FIFO ring of data, and a
+    // bitmap of non-empty buckets finds the highest one with a few word scans:
+    //  - enqueue is O(1) amortized
+    //  - dequeue is O(maxPriority / 64) in the worst case, O(1) in practice
+    // Equal priorities always leave in FIFO order.
+    public static class BucketPriorityQueue {
+        private static final int INITIAL_BUCKET_CAPACITY = 4;
+
+        private final int[][] buckets;
+        private final int[] head;
+        private final int[] count;
+        private final long[] nonEmpty; // bit p set if bucket p has elements
+        private int size;
+
+        public BucketPriorityQueue(int maxPriority) {
+            if (maxPriority < 0) {
+                throw new IllegalArgumentException("Max priority must be non-negative");
+            }
+            int buckets = maxPriority + 1;
+            this.buckets = new int[buckets][];
+            this.head = new int[buckets];
+            this.count = new int[buckets];
+            this.nonEmpty = new long[(buckets + 63) >>> 6];
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public void enqueue(int data, int priority) {
+            if (priority < 0 || priority >= buckets.length) {
+                throw new IllegalArgumentException("Priority out of range: " + priority);
+            }
+            int[] bucket = buckets[priority];
+            if (bucket == null) {
+                bucket = buckets[priority] = new int[INITIAL_BUCKET_CAPACITY];
+            } else if (count[priority] == bucket.length) {
+                bucket = growBucket(priority);
+            }
+            bucket[(head[priority] + count[priority]) % bucket.length] = data;
+            count[priority]++;
+            nonEmpty[priority >>> 6] |= 1L << priority;
+            size++;
+        }
+
+        public void enqueueAll(int[] data, int[] priority) {
+            if (data.length != priority.length) {
+                throw new IllegalArgumentException("Data and priority arrays must have the same length");
+            }
+            for (int i = 0; i < data.length; i++) {
+                enqueue(data[i], priority[i]);
+            }
+        }
+
+        public int dequeue() {
+            if (isEmpty()) {
+                System.out.println("Priority queue is empty");
+                return -1;
+            }
+            int p = highestPriority();
+            int[] bucket = buckets[p];
+            int result = bucket[head[p]];
+            head[p] = (head[p] + 1) % bucket.length;
+            if (--count[p] == 0) {
+                head[p] = 0;
+                nonEmpty[p >>> 6] &= ~(1L << p);
+            }
+            size--;
+            return result;
+        }
+
+        public int peek() {
+            if (isEmpty()) {
+                System.out.println("Priority queue is empty");
+                return -1;
+            }
+            int p = highestPriority();
+            return buckets[p][head[p]];
+        }
+
+        public void display() {
+            if (isEmpty()) {
+                System.out.println("Priority queue is empty");
+                return;
+            }
+
+            System.out.println("Bucket Priority Queue contents:");
+            for (int p = buckets.length - 1; p >= 0; p--) {
+                for (int i = 0; i < count[p]; i++) {
+                    System.out.println("Data: " + buckets[p][(head[p] + i) % buckets[p].length] + ", Priority: " + p);
+                }
+            }
+        }
+
+        private int highestPriority() {
+            for (int word = nonEmpty.length - 1; word >= 0; word--) {
+                if (nonEmpty[word] != 0) {
+                    return (word << 6) + 63 - Long.numberOfLeadingZeros(nonEmpty[word]);
+                }
+            }
+            return -1;
+        }
+
+        // Double a full bucket, unrolling the ring so head moves to 0
+        private int[] growBucket(int priority) {
+            int[] old = buckets[priority];
+            int[] grown = new int[old.length * 2];
+            int h = head[priority];
+            System.arraycopy(old, h, grown, 0, old.length - h);
+            System.arraycopy(old, 0, grown, old.length - h, h);
+            head[priority] = 0;
+            buckets[priority] = grown;
+            return grown;
+        }
+    }
+
+    // Thread-safe "relaxed" priority queue (MultiQueue) for many producers
+    // and consumers. Elements are spread over several PriorityQueue stripes,
+    // each guarded by its own lock:
+    //  - enqueue puts the element into a random stripe
+    //  - dequeue looks at two random stripes and takes from the one whose
+    //    front has the higher priority
+    // Threads rarely meet on the same lock, so throughput scales with cores.
+    // The price is that dequeue returns an element of *near*-highest
+    // priority, not always the exact maximum.
+    public static class ConcurrentPriorityQueue {
+        // Returned by dequeue when the queue is empty. Every int is a legal
+        // data value, so the result is a long and this can never be an element
+        public static final long EMPTY = Long.MIN_VALUE;
+        private static final int NO_TOP = Integer.MIN_VALUE;
+
+        private static class Stripe {
+            final ReentrantLock lock = new ReentrantLock();
+            final PriorityQueue queue;
+            // Front priority published for lock-free peeking, NO_TOP if none
+            volatile int topPriority = NO_TOP;
+
+            Stripe(int capacity) {
+                queue = new PriorityQueue(capacity);
+            }
+
+            void publishTop() {
+                topPriority = queue.isEmpty() ? NO_TOP : queue.priority[0];
+            }
+        }
+
+        private final Stripe[] stripes;
+        private final AtomicInteger size = new AtomicInteger();
+
+        public ConcurrentPriorityQueue(int capacity, int stripeCount) {
+            if (capacity <= 0 || stripeCount <= 0) {
+                throw new IllegalArgumentException("Capacity and stripe count must be positive");
+            }
+            stripes = new Stripe[stripeCount];
+            int perStripe = (capacity + stripeCount - 1) / stripeCount;
+            for (int i = 0; i < stripeCount; i++) {
+                stripes[i] = new Stripe(perStripe);
+            }
+        }
+
+        public ConcurrentPriorityQueue(int capacity) {
+            // Two stripes per core keeps the chance of lock collisions low
+            this(capacity, 2 * Runtime.getRuntime().availableProcessors());
+        }
+
+        // Returns false if every stripe is full
+        public boolean enqueue(int data, int priority) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int attempt = 0; attempt < stripes.length; attempt++) {
+                Stripe stripe = stripes[random.nextInt(stripes.length)];
+                if (stripe.lock.tryLock()) {
+                    try {
+                        if (!stripe.queue.isFull()) {
+                            insert(stripe, data, priority);
+                            return true;
+                        }
+                    } finally {
+                        stripe.lock.unlock();
+                    }
+                }
+            }
+
+            // Random stripes were busy or full: fall back to a blocking sweep
+            for (Stripe stripe : stripes) {
+                stripe.lock.lock();
+                try {
+                    if (!stripe.queue.isFull()) {
+                        insert(stripe, data, priority);
+                        return true;
+                    }
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+            return false;
+        }
+
+        // Returns the data of a near-highest-priority element, or EMPTY if
+        // the queue is empty. Consumers test the result instead of calling
+        // isEmpty() first, which could race with other consumers
+        public long dequeue() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int attempt = 0; attempt < stripes.length; attempt++) {
+                if (size.get() == 0) {
+                    return EMPTY;
+                }
+                Stripe first = stripes[random.nextInt(stripes.length)];
+                Stripe second = stripes[random.nextInt(stripes.length)];
+                Stripe stripe = first.topPriority >= second.topPriority ? first : second;
+                if (stripe.topPriority == NO_TOP || !stripe.lock.tryLock()) {
+                    continue;
+                }
+                try {
+                    if (!stripe.queue.isEmpty()) {
+                        return remove(stripe);
+                    }
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+
+            // Sampling kept missing: sweep all stripes so a non-empty queue
+            // never reports empty
+            for (Stripe stripe : stripes) {
+                stripe.lock.lock();
+                try {
+                    if (!stripe.queue.isEmpty()) {
+                        return remove(stripe);
+                    }
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+            return EMPTY;
+        }
+
+        // Approximate while other threads are enqueuing or dequeuing
+        public int getSize() {
+            return size.get();
+        }
+
+        public boolean isEmpty() {
+            return size.get() == 0;
+        }
+
+        private void insert(Stripe stripe, int data, int priority) {
+            stripe.queue.enqueue(data, priority);
+            stripe.publishTop();
+            size.incrementAndGet();
+        }
+
+        private int remove(Stripe stripe) {
+            int result = stripe.queue.dequeue();
+            stripe.publishTop();
+            size.decrementAndGet();
+            return result;
+        }
+    }
+
+    // Producers enqueue 'perProducer' jobs each while the same number of
+    // consumers drain them; prints throughput for the given thread count
+    private static void benchmarkConcurrent(int threads, int perProducer) throws InterruptedException {
+        ConcurrentPriorityQueue queue = new ConcurrentPriorityQueue(threads * perProducer);
+        AtomicInteger consumed = new AtomicInteger();
+        int total = threads * perProducer;
+        Thread[] workers = new Thread[2 * threads];
+
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < perProducer; i++) {
+                    queue.enqueue(i, random.nextInt(1000));
+                }
+            });
+            workers[threads + t] = new Thread(() -> {
+                while (consumed.get() < total) {
+                    if (queue.dequeue() != ConcurrentPriorityQueue.EMPTY) {
+                        consumed.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        long start = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%d producers + %d consumers: %.2f M jobs/s%n",
+                threads, threads, total * 1000.0 / elapsed);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
         PriorityQueue pq = new PriorityQueue(5);
-        
+
         pq.enqueue(10, 2);
         pq.enqueue(20, 1);
         pq.enqueue(30, 3);
         pq.enqueue(40, 5);
         pq.enqueue(50, 4);
-        
+
         pq.display();
-        
+
         System.out.println("\nDequeuing elements:");
         while (!pq.isEmpty()) {
             int data = pq.dequeue();
             System.out.println("Dequeued: " + data);
         }
+
+        System.out.println("\nStable queue with bulk enqueue:");
+        PriorityQueue stable = new PriorityQueue(8, true);
+        stable.enqueueAll(new int[]{1, 2, 3, 4, 5, 6}, new int[]{1, 2, 1, 2, 1, 2});
+        while (!stable.isEmpty()) {
+            System.out.print(stable.dequeue() + " ");
+        }
+        System.out.println();
+
+        System.out.println("\nBucket queue (priorities 0..3):");
+        BucketPriorityQueue buckets = new BucketPriorityQueue(3);
+        buckets.enqueueAll(new int[]{1, 2, 3, 4, 5, 6}, new int[]{0, 3, 1, 3, 0, 1});
+        buckets.display();
+        while (!buckets.isEmpty()) {
+            System.out.print(buckets.dequeue() + " ");
+        }
+        System.out.println();
+
+        System.out.println("\nConcurrent priority queue:");
+        ConcurrentPriorityQueue shared = new ConcurrentPriorityQueue(8, 2);
+        shared.enqueue(-1, 5);
+        shared.enqueue(7, 9);
+        for (long item; (item = shared.dequeue()) != ConcurrentPriorityQueue.EMPTY; ) {
+            System.out.print(item + " ");
+        }
+        System.out.println("(then EMPTY)");
+
+        // Pass a job count per producer (e.g. 200000) to measure throughput
+        if (args.length > 0) {
+            System.out.println("\nConcurrent priority queue throughput:");
+            int perProducer = Integer.parseInt(args[0]);
+            int cores = Runtime.getRuntime().availableProcessors();
+            for (int threads = 1; threads <= cores; threads *= 2) {
+                benchmarkConcurrent(threads, perProducer);
+            }
+        }
     }
 }
@@ -0,0 +1,329 @@
+package DataStructures.NonLinear.Graph.BreadthForSearch;
+
+import java.util.Arrays;
+
+/**
+ * Directed graph in Compressed Sparse Row (CSR) form
+ * The neighbors of vertex v are targets[offsets[v] .. offsets[v + 1] - 1],
+ * so the whole graph is two int arrays: no boxed Integers, no list nodes,
+ * and a BFS scans neighbors sequentially in memory
+ */
+public class CsrGraph {
+    // Package-private so the other BFS variants in this package can scan
+    // the arrays directly
+    final int V;         // Number of vertices
+    final int[] offsets; // length V + 1
+    final int[] targets; // length E
+
+    private CsrGraph(int v, int[] offsets, int[] targets) {
+        this.V = v;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * Build from parallel edge arrays: edge i goes from source[i] to target[i]
+     * Time Complexity: O(V + E) (counting sort by source vertex)
+     */
+    public static CsrGraph fromEdges(int v, int[] source, int[] target, int edgeCount) {
+        if (v < 0) {
+            throw new IllegalArgumentException("Vertex count must be non-negative");
+        }
+        if (edgeCount > source.length || edgeCount > target.length) {
+            throw new IllegalArgumentException("Edge count exceeds edge arrays");
+        }
+
+        // Count out-degrees, then prefix-sum them into row offsets
+        int[] offsets = new int[v + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            checkVertex(source[i], v);
+            checkVertex(target[i], v);
+            offsets[source[i] + 1]++;
+        }
+        for (int i = 0; i < v; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        // Place every edge; 'next' is the write cursor of each row, so edges
+        // keep their insertion order within a row like GraphBFS.addEdge
+        int[] targets = new int[edgeCount];
+        int[] next = Arrays.copyOf(offsets, v);
+        for (int i = 0; i < edgeCount; i++) {
+            targets[next[source[i]]++] = target[i];
+        }
+        return new CsrGraph(v, offsets, targets);
+    }
+
+    private static void checkVertex(int vertex, int v) {
+        if (vertex < 0 || vertex >= v) {
+            throw new IllegalArgumentException("Vertex out of range: " + vertex);
+        }
+    }
+
+    /**
+     * Collects an edge stream into growable int arrays, then builds the CSR
+     */
+    public static class Builder {
+        private final int V;
+        private int[] source = new int[16];
+        private int[] target = new int[16];
+        private int edgeCount;
+
+        public Builder(int v) {
+            V = v;
+        }
+
+        public Builder addEdge(int v, int w) {
+            if (edgeCount == source.length) {
+                source = Arrays.copyOf(source, edgeCount * 2);
+                target = Arrays.copyOf(target, edgeCount * 2);
+            }
+            source[edgeCount] = v;
+            target[edgeCount] = w;
+            edgeCount++;
+            return this;
+        }
+
+        public CsrGraph build() {
+            return fromEdges(V, source, target, edgeCount);
+        }
+    }
+
+    /**
+     * Result of a BFS: distance[v] is the number of hops from the source
+     * (-1 if unreachable) and parent[v] the vertex v was discovered from
+     * (-1 for the source and for unreachable vertices)
+     */
+    public static class BfsResult {
+        public final int[] distance;
+        public final int[] parent;
+
+        public BfsResult(int[] distance, int[] parent) {
+            this.distance = distance;
+            this.parent = parent;
+        }
+
+        // Path from the BFS source to target, or an empty array if unreachable
+        public int[] pathTo(int target) {
+            if (distance[target] < 0) {
+                return new int[0];
+            }
+            int[] path = new int[distance[target] + 1];
+            for (int i = path.length - 1, v = target; i >= 0; i--, v = parent[v]) {
+                path[i] = v;
+            }
+            return path;
+        }
+    }
+
+    public int vertexCount() {
+        return V;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    public int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * Graph with every edge reversed, i.e. the in-neighbors of each vertex
+     * Time Complexity: O(V + E)
+     */
+    public CsrGraph transpose() {
+        int[] reverseOffsets = new int[V + 1];
+        for (int target : targets) {
+            reverseOffsets[target + 1]++;
+        }
+        for (int i = 0; i < V; i++) {
+            reverseOffsets[i + 1] += reverseOffsets[i];
+        }
+
+        int[] reverseTargets = new int[targets.length];
+        int[] next = Arrays.copyOf(reverseOffsets, V);
+        for (int u = 0; u < V; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                reverseTargets[next[targets[i]]++] = u;
+            }
+        }
+        return new CsrGraph(V, reverseOffsets, reverseTargets);
+    }
+
+    /**
+     * BFS from source, allocating the result arrays
+     * Time Complexity: O(V + E)
+     */
+    public BfsResult bfs(int source) {
+        int[] distance = new int[V];
+        int[] parent = new int[V];
+        bfs(source, distance, parent, new int[V]);
+        return new BfsResult(distance, parent);
+    }
+
+    /**
+     * BFS from source into caller-provided arrays (all of length >= V), so
+     * repeated traversals allocate nothing. The queue is a single int array:
+     * every vertex is enqueued at most once, so V slots are enough. On
+     * return, queue[0 .. reached - 1] lists the reached vertices in BFS order.
+     * Returns the number of vertices reached
+     */
+    public int bfs(int source, int[] distance, int[] parent, int[] queue) {
+        checkVertex(source, V);
+        if (distance.length < V || parent.length < V || queue.length < V) {
+            throw new IllegalArgumentException("Buffers must hold at least " + V + " vertices");
+        }
+        Arrays.fill(distance, 0, V, -1);
+        Arrays.fill(parent, 0, V, -1);
+
+        int head = 0, tail = 0;
+        distance[source] = 0;
+        queue[tail++] = source;
+
+        while (head < tail) {
+            int u = queue[head++];
+            int nextDistance = distance[u] + 1;
+            for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                int w = targets[i];
+                if (distance[w] < 0) {
+                    distance[w] = nextDistance;
+                    parent[w] = u;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * One BFS started from all sources at once: distance[v] is the number of
+     * hops to the nearest source, and following parent[] from v ends at that
+     * source. Costs a single O(V + E) traversal however many sources there are
+     */
+    public BfsResult multiSourceBfs(int[] sources) {
+        int[] distance = new int[V];
+        int[] parent = new int[V];
+        Arrays.fill(distance, -1);
+        Arrays.fill(parent, -1);
+
+        int[] queue = new int[V];
+        int head = 0, tail = 0;
+        for (int source : sources) {
+            checkVertex(source, V);
+            if (distance[source] < 0) {
+                distance[source] = 0;
+                queue[tail++] = source;
+            }
+        }
+
+        while (head < tail) {
+            int u = queue[head++];
+            int nextDistance = distance[u] + 1;
+            for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                int w = targets[i];
+                if (distance[w] < 0) {
+                    distance[w] = nextDistance;
+                    parent[w] = u;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return new BfsResult(distance, parent);
+    }
+
+    /**
+     * Separate BFS distances from every source: result[i][v] is the number of
+     * hops from sources[i] to v (-1 if unreachable)
+     *
+     * Runs 64 BFS instances per pass over the adjacency (MS-BFS, Then et al.
+     * "The More the Merrier"). Each vertex keeps two 64-bit words:
+     * - seen:  bit i set once BFS i has reached the vertex
+     * - visit: bit i set if the vertex is in BFS i's current frontier
+     * One edge scan u -> w then advances all 64 traversals with
+     * "visit[u] & ~seen[w]" instead of 64 separate checks.
+     * Time Complexity: O(ceil(S / 64) * levels * (V + E))
+     */
+    public int[][] batchBfs(int[] sources) {
+        int[][] result = new int[sources.length][];
+        long[] seen = new long[V];
+        long[] visit = new long[V];
+        long[] visitNext = new long[V];
+
+        for (int base = 0; base < sources.length; base += 64) {
+            int batch = Math.min(64, sources.length - base);
+            Arrays.fill(seen, 0);
+            Arrays.fill(visit, 0);
+            for (int i = 0; i < batch; i++) {
+                int source = sources[base + i];
+                checkVertex(source, V);
+                result[base + i] = new int[V];
+                Arrays.fill(result[base + i], -1);
+                result[base + i][source] = 0;
+                seen[source] |= 1L << i;
+                visit[source] |= 1L << i;
+            }
+
+            boolean active = true;
+            for (int level = 1; active; level++) {
+                active = false;
+                for (int u = 0; u < V; u++) {
+                    long frontier = visit[u];
+                    if (frontier == 0) {
+                        continue;
+                    }
+                    for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                        int w = targets[i];
+                        long discovered = frontier & ~seen[w];
+                        if (discovered != 0) {
+                            seen[w] |= discovered;
+                            visitNext[w] |= discovered;
+                            active = true;
+                            for (long bits = discovered; bits != 0; bits &= bits - 1) {
+                                result[base + Long.numberOfTrailingZeros(bits)][w] = level;
+                            }
+                        }
+                    }
+                }
+                long[] temp = visit;
+                visit = visitNext;
+                visitNext = temp;
+                Arrays.fill(visitNext, 0);
+            }
+        }
+        return result;
+    }
+
+    public static void main(String[] args) {
+        // Same sample graph as GraphBFS.main
+        CsrGraph g = new Builder(6)
+                .addEdge(0, 1)
+                .addEdge(0, 2)
+                .addEdge(1, 3)
+                .addEdge(1, 4)
+                .addEdge(2, 4)
+                .addEdge(3, 5)
+                .addEdge(4, 5)
+                .build();
+
+        BfsResult result = g.bfs(0);
+        System.out.println("Distances from 0: " + Arrays.toString(result.distance));
+        System.out.println("Parents:          " + Arrays.toString(result.parent));
+        System.out.println("Path 0 -> 5:      " + Arrays.toString(result.pathTo(5)));
+
+        // Repeated BFS reusing the same buffers
+        int[] distance = new int[6], parent = new int[6], queue = new int[6];
+        for (int source = 0; source < 3; source++) {
+            int reached = g.bfs(source, distance, parent, queue);
+            System.out.println("BFS order from " + source + ":  " + Arrays.toString(Arrays.copyOf(queue, reached)));
+        }
+
+        BfsResult nearest = g.multiSourceBfs(new int[]{1, 2});
+        System.out.println("Hops to nearest of {1, 2}: " + Arrays.toString(nearest.distance));
+
+        int[][] batch = g.batchBfs(new int[]{0, 1, 2});
+        for (int i = 0; i < batch.length; i++) {
+            System.out.println("Batched BFS from " + i + ": " + Arrays.toString(batch[i]));
+        }
+    }
+}
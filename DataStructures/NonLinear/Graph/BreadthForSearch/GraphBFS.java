@@ -20,6 +20,17 @@ public class GraphBFS {
         adjacencyList[v].add(w);
     }
 
+    // Copy this graph into compact CSR form (see CsrGraph)
+    public CsrGraph toCsr() {
+        CsrGraph.Builder builder = new CsrGraph.Builder(V);
+        for (int v = 0; v < V; v++) {
+            for (int w : adjacencyList[v]) {
+                builder.addEdge(v, w);
+            }
+        }
+        return builder.build();
+    }
+
     // BFS traversal starting from source vertex
     public void BFS(int source) {
         // Mark all vertices as not visited
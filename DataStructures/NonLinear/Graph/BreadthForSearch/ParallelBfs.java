@@ -0,0 +1,286 @@
+package DataStructures.NonLinear.Graph.BreadthForSearch;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Level-synchronous parallel BFS over a CsrGraph with direction optimization
+ * (Beamer, Asanovic and Patterson, "Direction-Optimizing Breadth-First Search")
+ *
+ * Each level is processed by fork-join tasks in one of two ways:
+ * - Top-down: every frontier vertex scans its out-neighbors and claims the
+ *   unvisited ones with a CAS on distance[]. Cheap while the frontier is small.
+ * - Bottom-up: every unvisited vertex scans its in-neighbors and stops at the
+ *   first one found in the frontier bitmap. Cheap when the frontier is large,
+ *   because most vertices find a parent after a few edges.
+ * The traversal switches to bottom-up when the frontier's edges exceed 1/ALPHA
+ * of the unexplored edges, and back when the frontier shrinks below V/BETA.
+ */
+public class ParallelBfs {
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    private static final int GRAIN = 4096; // vertices per leaf task, multiple of 64
+    private static final int BUFFER = 256; // local discoveries before publishing
+
+    private static final VarHandle DISTANCE = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final CsrGraph graph;
+    private final CsrGraph reverse; // in-neighbors, used by bottom-up steps
+    private final ForkJoinPool pool;
+
+    public ParallelBfs(CsrGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.reverse = graph.transpose();
+        this.pool = pool;
+    }
+
+    public ParallelBfs(CsrGraph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * BFS from source; distances are identical to CsrGraph.bfs, parents may
+     * differ when a vertex has several parents at the same level
+     * Time Complexity: O(V + E) work, O(levels * log V) span
+     */
+    public CsrGraph.BfsResult bfs(int source) {
+        int V = graph.V;
+        if (source < 0 || source >= V) {
+            throw new IllegalArgumentException("Vertex out of range: " + source);
+        }
+        int[] distance = new int[V];
+        int[] parent = new int[V];
+        Arrays.fill(distance, -1);
+        Arrays.fill(parent, -1);
+        distance[source] = 0;
+
+        // Top-down frontier is a vertex list, bottom-up frontier a bitmap
+        int[] frontier = new int[V];
+        int[] next = new int[V];
+        long[] frontierBits = new long[(V + 63) >>> 6];
+        long[] nextBits = new long[frontierBits.length];
+
+        frontier[0] = source;
+        int frontierSize = 1;
+        long frontierEdges = graph.degree(source);
+        long unexploredEdges = graph.edgeCount() - frontierEdges;
+        boolean topDown = true;
+
+        for (int level = 0; frontierSize > 0; level++) {
+            int previousSize = frontierSize;
+            if (topDown && frontierEdges > unexploredEdges / ALPHA) {
+                Arrays.fill(frontierBits, 0);
+                for (int i = 0; i < frontierSize; i++) {
+                    frontierBits[frontier[i] >>> 6] |= 1L << frontier[i];
+                }
+                topDown = false;
+            }
+
+            LongAdder discovered = new LongAdder();
+            LongAdder discoveredEdges = new LongAdder();
+            if (topDown) {
+                AtomicInteger nextSize = new AtomicInteger();
+                pool.invoke(new TopDownStep(level, frontier, 0, frontierSize, next, nextSize,
+                        distance, parent, discovered, discoveredEdges));
+                int[] temp = frontier;
+                frontier = next;
+                next = temp;
+            } else {
+                Arrays.fill(nextBits, 0);
+                pool.invoke(new BottomUpStep(level, 0, V, frontierBits, nextBits,
+                        distance, parent, discovered, discoveredEdges));
+                long[] temp = frontierBits;
+                frontierBits = nextBits;
+                nextBits = temp;
+            }
+            frontierSize = discovered.intValue();
+            frontierEdges = discoveredEdges.sum();
+            unexploredEdges -= frontierEdges;
+
+            if (!topDown && frontierSize < V / BETA && frontierSize < previousSize) {
+                // Frontier is small again: turn the bitmap back into a list
+                int k = 0;
+                for (int word = 0; word < frontierBits.length; word++) {
+                    for (long bits = frontierBits[word]; bits != 0; bits &= bits - 1) {
+                        frontier[k++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    }
+                }
+                topDown = true;
+            }
+        }
+        return new CsrGraph.BfsResult(distance, parent);
+    }
+
+    // Expands frontier[from..to) along out-edges
+    private class TopDownStep extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final int level, from, to;
+        final int[] frontier, next;
+        final AtomicInteger nextSize;
+        final int[] distance, parent;
+        final LongAdder discovered, discoveredEdges;
+
+        TopDownStep(int level, int[] frontier, int from, int to, int[] next, AtomicInteger nextSize,
+                    int[] distance, int[] parent, LongAdder discovered, LongAdder discoveredEdges) {
+            this.level = level;
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.next = next;
+            this.nextSize = nextSize;
+            this.distance = distance;
+            this.parent = parent;
+            this.discovered = discovered;
+            this.discoveredEdges = discoveredEdges;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GRAIN) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new TopDownStep(level, frontier, from, mid, next, nextSize,
+                                distance, parent, discovered, discoveredEdges),
+                        new TopDownStep(level, frontier, mid, to, next, nextSize,
+                                distance, parent, discovered, discoveredEdges));
+                return;
+            }
+
+            int[] offsets = graph.offsets;
+            int[] targets = graph.targets;
+            int[] buffer = new int[BUFFER];
+            int buffered = 0;
+            int count = 0;
+            long edges = 0;
+            for (int i = from; i < to; i++) {
+                int u = frontier[i];
+                for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                    int w = targets[e];
+                    if (distance[w] < 0 && DISTANCE.compareAndSet(distance, w, -1, level + 1)) {
+                        parent[w] = u;
+                        edges += offsets[w + 1] - offsets[w];
+                        count++;
+                        buffer[buffered++] = w;
+                        if (buffered == BUFFER) {
+                            publish(buffer, buffered);
+                            buffered = 0;
+                        }
+                    }
+                }
+            }
+            publish(buffer, buffered);
+            discovered.add(count);
+            discoveredEdges.add(edges);
+        }
+
+        // Reserve a block of the shared next frontier and copy into it
+        private void publish(int[] buffer, int n) {
+            if (n > 0) {
+                System.arraycopy(buffer, 0, next, nextSize.getAndAdd(n), n);
+            }
+        }
+    }
+
+    // Lets every unvisited vertex in [from, to) look for a parent among its
+    // in-neighbors. Ranges start at multiples of 64, so each task owns whole
+    // words of nextBits and can set bits without atomics.
+    private class BottomUpStep extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final int level, from, to;
+        final long[] frontierBits, nextBits;
+        final int[] distance, parent;
+        final LongAdder discovered, discoveredEdges;
+
+        BottomUpStep(int level, int from, int to, long[] frontierBits, long[] nextBits,
+                     int[] distance, int[] parent, LongAdder discovered, LongAdder discoveredEdges) {
+            this.level = level;
+            this.from = from;
+            this.to = to;
+            this.frontierBits = frontierBits;
+            this.nextBits = nextBits;
+            this.distance = distance;
+            this.parent = parent;
+            this.discovered = discovered;
+            this.discoveredEdges = discoveredEdges;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GRAIN) {
+                int mid = ((from + to) >>> 1) & ~63;
+                invokeAll(new BottomUpStep(level, from, mid, frontierBits, nextBits,
+                                distance, parent, discovered, discoveredEdges),
+                        new BottomUpStep(level, mid, to, frontierBits, nextBits,
+                                distance, parent, discovered, discoveredEdges));
+                return;
+            }
+
+            int[] inOffsets = reverse.offsets;
+            int[] inTargets = reverse.targets;
+            int[] outOffsets = graph.offsets;
+            int count = 0;
+            long edges = 0;
+            for (int v = from; v < to; v++) {
+                if (distance[v] >= 0) {
+                    continue;
+                }
+                for (int e = inOffsets[v], end = inOffsets[v + 1]; e < end; e++) {
+                    int u = inTargets[e];
+                    if ((frontierBits[u >>> 6] & (1L << u)) != 0) {
+                        distance[v] = level + 1;
+                        parent[v] = u;
+                        nextBits[v >>> 6] |= 1L << v;
+                        edges += outOffsets[v + 1] - outOffsets[v];
+                        count++;
+                        break;
+                    }
+                }
+            }
+            discovered.add(count);
+            discoveredEdges.add(edges);
+        }
+    }
+
+    public static void main(String[] args) {
+        // Small demo graph by default; pass a vertex count (e.g. 1000000)
+        // to time the traversals on a large one
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int runs = args.length > 0 ? 3 : 1;
+        int degree = 16;
+        Random random = new Random(42);
+
+        // Random undirected graph: every edge is added in both directions
+        CsrGraph.Builder builder = new CsrGraph.Builder(vertices);
+        for (int v = 0; v < vertices; v++) {
+            for (int d = 0; d < degree / 2; d++) {
+                int w = random.nextInt(vertices);
+                builder.addEdge(v, w).addEdge(w, v);
+            }
+        }
+        CsrGraph graph = builder.build();
+        ParallelBfs parallel = new ParallelBfs(graph);
+        System.out.println("Graph: " + graph.vertexCount() + " vertices, " + graph.edgeCount() + " edges, "
+                + ForkJoinPool.commonPool().getParallelism() + " worker threads");
+
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            CsrGraph.BfsResult sequential = graph.bfs(0);
+            long sequentialTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            CsrGraph.BfsResult result = parallel.bfs(0);
+            long parallelTime = System.nanoTime() - start;
+
+            System.out.printf("Run %d: sequential %d ms, direction-optimizing parallel %d ms, same distances: %b%n",
+                    run + 1, sequentialTime / 1_000_000, parallelTime / 1_000_000,
+                    Arrays.equals(sequential.distance, result.distance));
+        }
+    }
+}
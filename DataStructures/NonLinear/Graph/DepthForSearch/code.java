@@ -1,5 +1,9 @@
 package DataStructures.NonLinear.Graph.DepthForSearch;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 public class code {
@@ -24,19 +28,27 @@ public class code {
             adjacencyList.get(destination).add(source);
         }
         
-        // Recursive DFS
+        // Recursive-order DFS without recursion: the call stack is replaced by
+        // an explicit stack of neighbor iterators, one per open vertex, so
+        // long chains cannot overflow the Java stack
         public void dfs(int startVertex) {
             Set<Integer> visited = new HashSet<>();
-            dfsRecursive(startVertex, visited);
-        }
-        
-        private void dfsRecursive(int vertex, Set<Integer> visited) {
-            visited.add(vertex);
-            System.out.print(vertex + " ");
+            Deque<Iterator<Integer>> frames = new ArrayDeque<>();
+            
+            visited.add(startVertex);
+            System.out.print(startVertex + " ");
+            frames.push(adjacencyList.getOrDefault(startVertex, Collections.emptyList()).iterator());
             
-            for (int adjacent : adjacencyList.getOrDefault(vertex, Collections.emptyList())) {
-                if (!visited.contains(adjacent)) {
-                    dfsRecursive(adjacent, visited);
+            while (!frames.isEmpty()) {
+                Iterator<Integer> neighbors = frames.peek();
+                if (!neighbors.hasNext()) {
+                    frames.pop(); // all neighbors done: "return" from this vertex
+                    continue;
+                }
+                int adjacent = neighbors.next();
+                if (visited.add(adjacent)) {
+                    System.out.print(adjacent + " ");
+                    frames.push(adjacencyList.getOrDefault(adjacent, Collections.emptyList()).iterator());
                 }
             }
         }
@@ -66,6 +78,70 @@ public class code {
             }
         }
         
+        // Freeze the current vertices and edges into an immutable FrozenGraph.
+        // Vertex ids may be any ints; they are mapped to dense ids 0..n-1 once
+        // here. The Graph itself stays mutable and can be frozen again later
+        public FrozenGraph freeze() {
+            // Every id that appears as a vertex or an edge target, sorted
+            Set<Integer> all = new HashSet<>(adjacencyList.keySet());
+            int edgeCount = 0;
+            for (List<Integer> neighbors : adjacencyList.values()) {
+                all.addAll(neighbors);
+                edgeCount += neighbors.size();
+            }
+            int[] ids = new int[all.size()];
+            int k = 0;
+            for (int id : all) {
+                ids[k++] = id;
+            }
+            Arrays.sort(ids);
+            
+            int[] offsets = new int[ids.length + 1];
+            int[] targets = new int[edgeCount];
+            for (int v = 0; v < ids.length; v++) {
+                int position = offsets[v];
+                for (int adjacent : adjacencyList.getOrDefault(ids[v], Collections.emptyList())) {
+                    targets[position++] = Arrays.binarySearch(ids, adjacent);
+                }
+                offsets[v + 1] = position;
+            }
+            return new FrozenGraph(ids, offsets, targets);
+        }
+        
+        // Copy into a DfsEngine. Vertex ids must be non-negative; the engine
+        // uses them directly as array indices 0..maxId (use freeze() for
+        // arbitrary ids)
+        public DfsEngine toDfsEngine() {
+            int vertexCount = 0;
+            int edgeCount = 0;
+            for (Map.Entry<Integer, List<Integer>> entry : adjacencyList.entrySet()) {
+                if (entry.getKey() < 0) {
+                    throw new IllegalStateException("Vertex ids must be non-negative: " + entry.getKey());
+                }
+                vertexCount = Math.max(vertexCount, entry.getKey() + 1);
+                edgeCount += entry.getValue().size();
+                for (int adjacent : entry.getValue()) {
+                    // Edge targets need not be vertices of the map, so check them too
+                    if (adjacent < 0) {
+                        throw new IllegalStateException("Vertex ids must be non-negative: " + adjacent);
+                    }
+                    vertexCount = Math.max(vertexCount, adjacent + 1);
+                }
+            }
+            
+            int[] offsets = new int[vertexCount + 1];
+            int[] targets = new int[edgeCount];
+            for (int v = 0; v < vertexCount; v++) {
+                List<Integer> neighbors = adjacencyList.getOrDefault(v, Collections.emptyList());
+                int position = offsets[v];
+                for (int adjacent : neighbors) {
+                    targets[position++] = adjacent;
+                }
+                offsets[v + 1] = position;
+            }
+            return new DfsEngine(vertexCount, offsets, targets);
+        }
+        
         public void printGraph() {
             for (Map.Entry<Integer, List<Integer>> entry : adjacencyList.entrySet()) {
                 System.out.print(entry.getKey() + " -> ");
@@ -74,6 +150,526 @@ public class code {
         }
     }
 
+    // Immutable array form of a Graph, produced by Graph.freeze().
+    // External vertex ids are interned to dense ids 0..n-1 (in ascending
+    // order of the external id), and adjacency is stored as int arrays, so
+    // traversals only index arrays instead of hashing boxed Integers.
+    // Translation between the two id spaces happens only at the boundary.
+    public static class FrozenGraph {
+        private final int[] ids;     // dense id -> external id, sorted
+        private final int[] offsets; // neighbors of v: targets[offsets[v] .. offsets[v + 1] - 1]
+        private final int[] targets; // dense ids
+        
+        private FrozenGraph(int[] ids, int[] offsets, int[] targets) {
+            this.ids = ids;
+            this.offsets = offsets;
+            this.targets = targets;
+        }
+        
+        public int vertexCount() {
+            return ids.length;
+        }
+        
+        public int edgeCount() {
+            return targets.length;
+        }
+        
+        // Dense id of an external vertex id, or -1 if it is not in the graph
+        // O(log V)
+        public int denseId(int externalId) {
+            int index = Arrays.binarySearch(ids, externalId);
+            return index >= 0 ? index : -1;
+        }
+        
+        public int externalId(int denseId) {
+            return ids[denseId];
+        }
+        
+        public int degree(int denseId) {
+            return offsets[denseId + 1] - offsets[denseId];
+        }
+        
+        // i-th neighbor (dense id) of a vertex, 0 <= i < degree(denseId)
+        public int neighbor(int denseId, int i) {
+            return targets[offsets[denseId] + i];
+        }
+        
+        // New DfsEngine over the dense ids; it shares the (read-only) arrays
+        public DfsEngine dfsEngine() {
+            return new DfsEngine(ids.length, offsets, targets);
+        }
+        
+        // Same output as Graph.dfs, printed with external ids
+        public void dfs(int startVertex) {
+            int start = denseId(startVertex);
+            if (start < 0) {
+                throw new IllegalArgumentException("Unknown vertex: " + startVertex);
+            }
+            dfsEngine().dfs(start, new DfsVisitor() {
+                @Override
+                public void preVisit(int vertex) {
+                    System.out.print(ids[vertex] + " ");
+                }
+            });
+        }
+    }
+    
+    // Callbacks for DfsEngine: preVisit when a vertex is discovered,
+    // postVisit when all of its descendants are finished
+    public interface DfsVisitor {
+        default void preVisit(int vertex) {
+        }
+        
+        default void postVisit(int vertex) {
+        }
+    }
+    
+    // Iterative DFS over dense vertex ids 0..V-1 stored as int arrays: the
+    // neighbors of v are targets[offsets[v] .. offsets[v + 1] - 1].
+    // - No recursion: each stack frame is a vertex plus the index of its next
+    //   unexplored edge, so neighbors are read lazily instead of being pushed
+    // - Visited set is a bitset (one bit per vertex)
+    // - Records discovery and finish times (one shared clock, like CLRS)
+    public static class DfsEngine {
+        private final int V;
+        private final int[] offsets;
+        private final int[] targets;
+        
+        private final long[] visited;
+        private final int[] discovery;
+        private final int[] finish;
+        private final int[] stackVertex;
+        private final int[] stackEdge; // next edge index to look at per frame
+        private int time;
+        
+        public DfsEngine(int vertexCount, int[] offsets, int[] targets) {
+            this.V = vertexCount;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.visited = new long[(vertexCount + 63) >>> 6];
+            this.discovery = new int[vertexCount];
+            this.finish = new int[vertexCount];
+            this.stackVertex = new int[vertexCount];
+            this.stackEdge = new int[vertexCount];
+            reset();
+        }
+        
+        public int vertexCount() {
+            return V;
+        }
+        
+        // Forget previous traversals
+        public void reset() {
+            Arrays.fill(visited, 0);
+            Arrays.fill(discovery, -1);
+            Arrays.fill(finish, -1);
+            time = 0;
+        }
+        
+        public boolean isVisited(int vertex) {
+            return (visited[vertex >>> 6] & (1L << vertex)) != 0;
+        }
+        
+        // Discovery time of a vertex, -1 if not visited yet
+        public int discoveryTime(int vertex) {
+            return discovery[vertex];
+        }
+        
+        // Finish time of a vertex, -1 if not finished yet
+        public int finishTime(int vertex) {
+            return finish[vertex];
+        }
+        
+        // DFS from one start vertex; vertices visited by earlier calls since
+        // the last reset() are skipped. Returns the number of new vertices
+        public int dfs(int start, DfsVisitor visitor) {
+            if (start < 0 || start >= V) {
+                throw new IllegalArgumentException("Vertex out of range: " + start);
+            }
+            if (isVisited(start)) {
+                return 0;
+            }
+            int reached = 0;
+            int top = 0;
+            discover(start, visitor);
+            reached++;
+            stackVertex[0] = start;
+            stackEdge[0] = offsets[start];
+            
+            while (top >= 0) {
+                int vertex = stackVertex[top];
+                int edge = stackEdge[top];
+                if (edge == offsets[vertex + 1]) {
+                    // All neighbors explored: finish the vertex and pop
+                    finish[vertex] = time++;
+                    visitor.postVisit(vertex);
+                    top--;
+                    continue;
+                }
+                stackEdge[top] = edge + 1;
+                int adjacent = targets[edge];
+                if (!isVisited(adjacent)) {
+                    discover(adjacent, visitor);
+                    reached++;
+                    top++;
+                    stackVertex[top] = adjacent;
+                    stackEdge[top] = offsets[adjacent];
+                }
+            }
+            return reached;
+        }
+        
+        // DFS forest: start a new tree from every vertex not yet visited
+        public void dfsAll(DfsVisitor visitor) {
+            for (int v = 0; v < V; v++) {
+                dfs(v, visitor);
+            }
+        }
+        
+        private void discover(int vertex, DfsVisitor visitor) {
+            visited[vertex >>> 6] |= 1L << vertex;
+            discovery[vertex] = time++;
+            visitor.preVisit(vertex);
+        }
+        
+        // Topological order with Kahn's algorithm: repeatedly output a vertex
+        // with no remaining incoming edges. O(V + E), no recursion.
+        // Throws IllegalStateException if the graph has a cycle
+        public int[] topologicalSort() {
+            int[] inDegree = new int[V];
+            for (int target : targets) {
+                inDegree[target]++;
+            }
+            
+            int[] order = new int[V];
+            int head = 0, tail = 0;
+            for (int v = 0; v < V; v++) {
+                if (inDegree[v] == 0) {
+                    order[tail++] = v;
+                }
+            }
+            // 'order' doubles as the queue: [head, tail) is still to process
+            while (head < tail) {
+                int vertex = order[head++];
+                for (int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+                    if (--inDegree[targets[i]] == 0) {
+                        order[tail++] = targets[i];
+                    }
+                }
+            }
+            if (tail < V) {
+                throw new IllegalStateException("Graph has a cycle, no topological order exists");
+            }
+            return order;
+        }
+        
+        // Strongly connected components with an iterative Tarjan algorithm.
+        // O(V + E). Components are numbered in reverse topological order of
+        // the condensation (a component only has edges to lower numbers)
+        public SccResult stronglyConnectedComponents() {
+            SccSearch search = new SccSearch();
+            int[] all = new int[V];
+            for (int v = 0; v < V; v++) {
+                all[v] = v;
+            }
+            search.tarjan(all, all.length, 0);
+            return new SccResult(search.components.get(), search.component);
+        }
+        
+        // Strongly connected components using forward-backward decomposition
+        // on a fork-join pool. Component ids are not in topological order
+        public SccResult parallelStronglyConnectedComponents(ForkJoinPool pool) {
+            SccSearch search = new SccSearch();
+            int[] all = new int[V];
+            for (int v = 0; v < V; v++) {
+                all[v] = v;
+            }
+            if (V > 0) {
+                buildReverse();
+                pool.invoke(search.new ForwardBackward(all, all.length, 0));
+            }
+            return new SccResult(search.components.get(), search.component);
+        }
+        
+        public SccResult parallelStronglyConnectedComponents() {
+            return parallelStronglyConnectedComponents(ForkJoinPool.commonPool());
+        }
+        
+        // In-neighbors of every vertex, built on first use by the SCC code
+        private int[] reverseOffsets;
+        private int[] reverseTargets;
+        
+        private void buildReverse() {
+            if (reverseOffsets != null) {
+                return;
+            }
+            int[] inOffsets = new int[V + 1];
+            for (int target : targets) {
+                inOffsets[target + 1]++;
+            }
+            for (int v = 0; v < V; v++) {
+                inOffsets[v + 1] += inOffsets[v];
+            }
+            int[] inTargets = new int[targets.length];
+            int[] next = Arrays.copyOf(inOffsets, V);
+            for (int u = 0; u < V; u++) {
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    inTargets[next[targets[i]]++] = u;
+                }
+            }
+            reverseTargets = inTargets;
+            reverseOffsets = inOffsets;
+        }
+        
+        // State of one SCC computation. Vertices are split into disjoint
+        // subproblems identified by a color; every per-vertex array entry is
+        // only touched by the task that owns that vertex's color, so the
+        // parallel tasks need no locks.
+        private class SccSearch {
+            private static final int SEQUENTIAL_THRESHOLD = 4096;
+            private static final int DONE = -1;
+            
+            final int[] component = new int[V];
+            final AtomicInteger components = new AtomicInteger();
+            final int[] color = new int[V];
+            final AtomicInteger colors = new AtomicInteger(1);
+            // Tarjan state
+            final int[] index = new int[V];
+            final int[] low = new int[V];
+            final boolean[] onStack = new boolean[V];
+            // Forward-backward state: bit 1 = reached forward, bit 2 = backward
+            final byte[] mark = new byte[V];
+            
+            SccSearch() {
+                Arrays.fill(component, -1);
+                Arrays.fill(index, -1);
+            }
+            
+            private void finishSingleton(int vertex) {
+                color[vertex] = DONE;
+                component[vertex] = components.getAndIncrement();
+            }
+            
+            // Iterative Tarjan restricted to vertices of the given color
+            void tarjan(int[] members, int count, int c) {
+                int[] stackVertex = new int[count];
+                int[] stackEdge = new int[count];
+                int[] sccStack = new int[count];
+                int sccTop = 0;
+                int counter = 0;
+                
+                for (int m = 0; m < count; m++) {
+                    int start = members[m];
+                    if (index[start] != -1) {
+                        continue;
+                    }
+                    int top = 0;
+                    stackVertex[0] = start;
+                    stackEdge[0] = offsets[start];
+                    index[start] = low[start] = counter++;
+                    sccStack[sccTop++] = start;
+                    onStack[start] = true;
+                    
+                    while (top >= 0) {
+                        int vertex = stackVertex[top];
+                        int edge = stackEdge[top];
+                        if (edge < offsets[vertex + 1]) {
+                            stackEdge[top] = edge + 1;
+                            int adjacent = targets[edge];
+                            if (color[adjacent] != c) {
+                                continue;
+                            }
+                            if (index[adjacent] == -1) {
+                                index[adjacent] = low[adjacent] = counter++;
+                                sccStack[sccTop++] = adjacent;
+                                onStack[adjacent] = true;
+                                top++;
+                                stackVertex[top] = adjacent;
+                                stackEdge[top] = offsets[adjacent];
+                            } else if (onStack[adjacent]) {
+                                low[vertex] = Math.min(low[vertex], index[adjacent]);
+                            }
+                            continue;
+                        }
+                        
+                        // Vertex finished: pass its low-link to the parent frame
+                        top--;
+                        if (top >= 0) {
+                            int parent = stackVertex[top];
+                            low[parent] = Math.min(low[parent], low[vertex]);
+                        }
+                        if (low[vertex] == index[vertex]) {
+                            // vertex is the root of a component: pop it
+                            int id = components.getAndIncrement();
+                            int member;
+                            do {
+                                member = sccStack[--sccTop];
+                                onStack[member] = false;
+                                component[member] = id;
+                                color[member] = DONE;
+                            } while (member != vertex);
+                        }
+                    }
+                }
+            }
+            
+            // One forward-backward subproblem: all vertices with color c.
+            // SCC(pivot) = forward-reachable AND backward-reachable; the
+            // other three parts cannot share a component and are solved
+            // independently in parallel.
+            class ForwardBackward extends RecursiveAction {
+                private static final long serialVersionUID = 1L;
+
+                final int[] members;
+                final int count;
+                final int c;
+                
+                ForwardBackward(int[] members, int count, int c) {
+                    this.members = members;
+                    this.count = count;
+                    this.c = c;
+                }
+                
+                @Override
+                protected void compute() {
+                    int remaining = trim();
+                    if (remaining == 0) {
+                        return;
+                    }
+                    if (remaining <= SEQUENTIAL_THRESHOLD) {
+                        tarjan(members, remaining, c);
+                        return;
+                    }
+                    
+                    int pivot = members[ThreadLocalRandom.current().nextInt(remaining)];
+                    reach(pivot, offsets, targets, (byte) 1, remaining);
+                    reach(pivot, reverseOffsets, reverseTargets, (byte) 2, remaining);
+                    
+                    int[][] parts = new int[3][];
+                    int[] sizes = new int[3];
+                    for (int part = 0; part < 3; part++) {
+                        parts[part] = new int[remaining];
+                    }
+                    int id = components.getAndIncrement();
+                    for (int i = 0; i < remaining; i++) {
+                        int vertex = members[i];
+                        int m = mark[vertex];
+                        mark[vertex] = 0;
+                        if (m == 3) {
+                            component[vertex] = id;
+                            color[vertex] = DONE;
+                        } else {
+                            // 0 = neither, 1 = forward only, 2 = backward only
+                            parts[m][sizes[m]++] = vertex;
+                        }
+                    }
+                    
+                    List<ForwardBackward> tasks = new ArrayList<>();
+                    for (int part = 0; part < 3; part++) {
+                        if (sizes[part] > 0) {
+                            int newColor = colors.getAndIncrement();
+                            for (int i = 0; i < sizes[part]; i++) {
+                                color[parts[part][i]] = newColor;
+                            }
+                            tasks.add(new ForwardBackward(parts[part], sizes[part], newColor));
+                        }
+                    }
+                    invokeAll(tasks);
+                }
+                
+                // Repeatedly remove vertices with no in- or out-edges inside
+                // the subproblem; each is a component of its own. Compacts
+                // the survivors to the front of members and returns their count
+                private int trim() {
+                    int[] inDegree = new int[count];
+                    int[] outDegree = new int[count];
+                    // low[] holds each member's local position for now;
+                    // Tarjan overwrites it later if this part gets there
+                    for (int i = 0; i < count; i++) {
+                        low[members[i]] = i;
+                    }
+                    int[] queue = new int[count];
+                    int head = 0, tail = 0;
+                    for (int i = 0; i < count; i++) {
+                        int vertex = members[i];
+                        for (int e = offsets[vertex]; e < offsets[vertex + 1]; e++) {
+                            if (color[targets[e]] == c) {
+                                outDegree[i]++;
+                            }
+                        }
+                        for (int e = reverseOffsets[vertex]; e < reverseOffsets[vertex + 1]; e++) {
+                            if (color[reverseTargets[e]] == c) {
+                                inDegree[i]++;
+                            }
+                        }
+                    }
+                    // Only start removing once every degree has been counted
+                    for (int i = 0; i < count; i++) {
+                        if (inDegree[i] == 0 || outDegree[i] == 0) {
+                            queue[tail++] = members[i];
+                            finishSingleton(members[i]);
+                        }
+                    }
+                    while (head < tail) {
+                        int vertex = queue[head++];
+                        for (int e = offsets[vertex]; e < offsets[vertex + 1]; e++) {
+                            int w = targets[e];
+                            if (color[w] == c && --inDegree[low[w]] == 0) {
+                                queue[tail++] = w;
+                                finishSingleton(w);
+                            }
+                        }
+                        for (int e = reverseOffsets[vertex]; e < reverseOffsets[vertex + 1]; e++) {
+                            int u = reverseTargets[e];
+                            if (color[u] == c && --outDegree[low[u]] == 0) {
+                                queue[tail++] = u;
+                                finishSingleton(u);
+                            }
+                        }
+                    }
+                    
+                    int remaining = 0;
+                    for (int i = 0; i < count; i++) {
+                        if (color[members[i]] == c) {
+                            members[remaining++] = members[i];
+                        }
+                    }
+                    return remaining;
+                }
+                
+                // BFS from pivot inside color c, setting 'bit' in mark[]
+                private void reach(int pivot, int[] rowOffsets, int[] rowTargets, byte bit, int remaining) {
+                    int[] queue = new int[remaining];
+                    int head = 0, tail = 0;
+                    mark[pivot] |= bit;
+                    queue[tail++] = pivot;
+                    while (head < tail) {
+                        int vertex = queue[head++];
+                        for (int e = rowOffsets[vertex]; e < rowOffsets[vertex + 1]; e++) {
+                            int w = rowTargets[e];
+                            if (color[w] == c && (mark[w] & bit) == 0) {
+                                mark[w] |= bit;
+                                queue[tail++] = w;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    // Result of an SCC computation: component[v] is the id (0..count-1) of
+    // the strongly connected component containing v
+    public static class SccResult {
+        public final int count;
+        public final int[] component;
+        
+        public SccResult(int count, int[] component) {
+            this.count = count;
+            this.component = component;
+        }
+    }
+    
     public static void main(String[] args) {
         Graph graph = new Graph();
         
@@ -93,10 +689,81 @@ public class code {
         System.out.println("Graph representation:");
         graph.printGraph();
         
-        System.out.println("\nDFS Recursive:");
+        System.out.println("\nDFS (recursive order):");
         graph.dfs(0);
         
         System.out.println("\n\nDFS Iterative:");
         graph.dfsIterative(0);
+        
+        System.out.println("\n\nDfsEngine pre/post order with discovery/finish times:");
+        DfsEngine engine = graph.toDfsEngine();
+        StringBuilder post = new StringBuilder();
+        engine.dfs(0, new DfsVisitor() {
+            @Override
+            public void preVisit(int vertex) {
+                System.out.print(vertex + " ");
+            }
+            
+            @Override
+            public void postVisit(int vertex) {
+                post.append(vertex).append(' ');
+            }
+        });
+        System.out.println("\nPost-order: " + post);
+        for (int v = 0; v < engine.vertexCount(); v++) {
+            System.out.println(v + ": " + engine.discoveryTime(v) + "/" + engine.finishTime(v));
+        }
+        
+        // A 200,000 vertex chain would overflow a recursive DFS
+        int n = 200_000;
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[n - 1];
+        for (int v = 0; v < n - 1; v++) {
+            targets[v] = v + 1;
+            offsets[v + 1] = v + 1;
+        }
+        offsets[n] = n - 1;
+        DfsEngine chain = new DfsEngine(n, offsets, targets);
+        System.out.println("Chain of " + n + " vertices, reached: " + chain.dfs(0, new DfsVisitor() { }));
+        
+        // Sparse external ids are interned to 0..n-1 when freezing
+        Graph sparse = new Graph();
+        int[] sparseIds = {1000, -7, 42, 99999};
+        for (int id : sparseIds) {
+            sparse.addVertex(id);
+        }
+        sparse.addEdge(1000, 42);
+        sparse.addEdge(42, -7);
+        sparse.addEdge(-7, 99999);
+        FrozenGraph frozen = sparse.freeze();
+        System.out.println("\nFrozen graph: " + frozen.vertexCount() + " vertices, dense id of 1000 = "
+                + frozen.denseId(1000));
+        System.out.print("DFS from 1000 on the frozen graph: ");
+        frozen.dfs(1000);
+        System.out.println();
+        
+        // Dependency graph: 0 -> 1 -> 2 -> 0 is a cycle, 3 depends on it
+        Graph dependencies = new Graph();
+        for (int i = 0; i < 6; i++) {
+            dependencies.addVertex(i);
+        }
+        dependencies.addEdge(0, 1);
+        dependencies.addEdge(1, 2);
+        dependencies.addEdge(2, 0);
+        dependencies.addEdge(2, 3);
+        dependencies.addEdge(3, 4);
+        dependencies.addEdge(5, 4);
+        DfsEngine dependencyEngine = dependencies.toDfsEngine();
+        SccResult scc = dependencyEngine.stronglyConnectedComponents();
+        System.out.println("\nSCC count: " + scc.count + ", components: " + Arrays.toString(scc.component));
+        SccResult parallelScc = dependencyEngine.parallelStronglyConnectedComponents();
+        System.out.println("Parallel SCC count: " + parallelScc.count);
+        try {
+            dependencyEngine.topologicalSort();
+        } catch (IllegalStateException e) {
+            System.out.println("Topological sort: " + e.getMessage());
+        }
+        System.out.println("Topological order of the chain starts with: "
+                + Arrays.toString(Arrays.copyOf(chain.topologicalSort(), 5)));
     }
 }
@@ -1,40 +1,109 @@
 package DataStructures.NonLinear.Tree.BinarySearchTree.AVLTree;
 
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
 public class code {
     // Node class for AVL Tree
     static class Node {
         int data, height;
+        int size; // Number of nodes in this subtree, used by rank and range queries
+        long sum; // Sum of the keys in this subtree, used by range sums
         Node left, right;
 
         public Node(int data) {
             this.data = data;
             this.height = 1; // New node is initially at height 1
+            this.size = 1;
+            this.sum = data;
             left = right = null;
         }
     }
 
     // AVL Tree implementation
     static class AVLTree {
+        // An AVL tree with height h has at least fib(h + 2) - 1 nodes, so even
+        // 2^31 keys give a height below 46; the insert/delete paths fit here
+        private static final int MAX_HEIGHT = 64;
+
         private Node root;
+        private final Node[] path = new Node[MAX_HEIGHT];
 
         public AVLTree() {
             root = null;
         }
 
+        /**
+         * Build a perfectly balanced tree from sorted keys (duplicates are skipped)
+         * Time Complexity: O(n), instead of O(n log n) for n inserts
+         */
+        public static AVLTree fromSorted(int[] sorted) {
+            int[] keys = new int[sorted.length];
+            int n = 0;
+            for (int key : sorted) {
+                if (n > 0 && key < keys[n - 1]) {
+                    throw new IllegalArgumentException("Keys are not sorted: " + key + " after " + keys[n - 1]);
+                }
+                if (n == 0 || key != keys[n - 1]) {
+                    keys[n++] = key;
+                }
+            }
+            AVLTree tree = new AVLTree();
+            tree.root = build(keys, 0, n - 1);
+            return tree;
+        }
+
+        // Middle key becomes the root, so both halves differ in size by at most one
+        private static Node build(int[] keys, int from, int to) {
+            if (from > to) {
+                return null;
+            }
+            int mid = (from + to) >>> 1;
+            Node node = new Node(keys[mid]);
+            node.left = build(keys, from, mid - 1);
+            node.right = build(keys, mid + 1, to);
+            update(node);
+            return node;
+        }
+
         // Get the height of the node
-        private int height(Node N) {
+        private static int height(Node N) {
             if (N == null)
                 return 0;
             return N.height;
         }
 
+        // Get the subtree size of the node
+        private static int size(Node N) {
+            if (N == null)
+                return 0;
+            return N.size;
+        }
+
+        // Get the subtree key sum of the node
+        private static long sum(Node N) {
+            if (N == null)
+                return 0;
+            return N.sum;
+        }
+
         // Get the balance factor of the node
-        private int getBalance(Node N) {
+        private static int getBalance(Node N) {
             if (N == null)
                 return 0;
             return height(N.left) - height(N.right);
         }
 
+        // Recompute height, size and sum from the children. Rotations call
+        // this for the two nodes they move, so the augmented fields stay
+        // correct at O(1) extra cost per rotation.
+        private static void update(Node node) {
+            node.height = Math.max(height(node.left), height(node.right)) + 1;
+            node.size = size(node.left) + size(node.right) + 1;
+            node.sum = sum(node.left) + sum(node.right) + node.data;
+        }
+
         // Right rotate subtree rooted with y
         private Node rightRotate(Node y) {
             Node x = y.left;
@@ -44,9 +113,9 @@ public class code {
             x.right = y;
             y.left = T2;
 
-            // Update heights
-            y.height = Math.max(height(y.left), height(y.right)) + 1;
-            x.height = Math.max(height(x.left), height(x.right)) + 1;
+            // Update heights, sizes and sums
+            update(y);
+            update(x);
 
             // Return new root
             return x;
@@ -61,59 +130,427 @@ public class code {
             y.left = x;
             x.right = T2;
 
-            // Update heights
-            x.height = Math.max(height(x.left), height(x.right)) + 1;
-            y.height = Math.max(height(y.left), height(y.right)) + 1;
+            // Update heights, sizes and sums
+            update(x);
+            update(y);
 
             // Return new root
             return y;
         }
 
-        // Insert a value into the AVL tree
-        public void insert(int data) {
-            root = insertRec(root, data);
+        // Restore the AVL property at node after one of its subtrees changed
+        // height by one. Looks at the child's balance instead of the inserted
+        // key, so the same code serves insert and delete.
+        private Node rebalance(Node node) {
+            update(node);
+            int balance = getBalance(node);
+
+            if (balance > 1) {
+                // Left Right Case
+                if (getBalance(node.left) < 0) {
+                    node.left = leftRotate(node.left);
+                }
+                // Left Left Case
+                return rightRotate(node);
+            }
+            if (balance < -1) {
+                // Right Left Case
+                if (getBalance(node.right) > 0) {
+                    node.right = rightRotate(node.right);
+                }
+                // Right Right Case
+                return leftRotate(node);
+            }
+            return node;
+        }
+
+        // Walk back up the recorded path, rebalancing each node and hooking
+        // the (possibly new) subtree root into its parent. A subtree's keys
+        // all lie on one side of its parent, so comparing the new root's key
+        // picks the right link, also after delete copied a successor's key.
+        private void rebalancePath(int depth) {
+            Node child = null;
+            for (int i = depth - 1; i >= 0; i--) {
+                Node node = path[i];
+                if (child != null) {
+                    if (child.data < node.data) {
+                        node.left = child;
+                    } else {
+                        node.right = child;
+                    }
+                }
+                child = rebalance(node);
+            }
+            root = child;
+        }
+
+        /**
+         * Insert a value into the AVL tree
+         * Iterative: the search path is kept in an array instead of the call stack
+         * Time Complexity: O(log n)
+         */
+        public boolean insert(int data) {
+            if (root == null) {
+                root = new Node(data);
+                return true;
+            }
+
+            int depth = 0;
+            Node node = root;
+            while (node != null) {
+                if (data == node.data) {
+                    return false; // Duplicate values are not allowed in BST
+                }
+                path[depth++] = node;
+                node = data < node.data ? node.left : node.right;
+            }
+
+            Node parent = path[depth - 1];
+            if (data < parent.data) {
+                parent.left = new Node(data);
+            } else {
+                parent.right = new Node(data);
+            }
+            rebalancePath(depth);
+            return true;
         }
 
-        private Node insertRec(Node node, int data) {
+        /**
+         * Delete a value from the AVL tree, rebalancing on the way up
+         * Time Complexity: O(log n)
+         */
+        public boolean delete(int data) {
+            int depth = 0;
+            Node node = root;
+            while (node != null && node.data != data) {
+                path[depth++] = node;
+                node = data < node.data ? node.left : node.right;
+            }
             if (node == null) {
-                return new Node(data);
+                return false;
             }
 
-            if (data < node.data) {
-                node.left = insertRec(node.left, data);
-            } else if (data > node.data) {
-                node.right = insertRec(node.right, data);
+            Node replacement;
+            if (node.left == null || node.right == null) {
+                replacement = node.left != null ? node.left : node.right;
+            } else {
+                // Two children: move the in-order successor's key into node,
+                // then unlink the successor (it has no left child)
+                path[depth++] = node;
+                int nodeDepth = depth;
+                Node successor = node.right;
+                while (successor.left != null) {
+                    path[depth++] = successor;
+                    successor = successor.left;
+                }
+                node.data = successor.data;
+                replacement = successor.right;
+                if (depth == nodeDepth) {
+                    node.right = replacement;
+                } else {
+                    path[depth - 1].left = replacement;
+                }
+                rebalancePath(depth);
+                return true;
+            }
+
+            if (depth == 0) {
+                root = replacement;
+                return true;
+            }
+            Node parent = path[depth - 1];
+            if (parent.left == node) {
+                parent.left = replacement;
             } else {
-                return node; // Duplicate values are not allowed in BST
+                parent.right = replacement;
             }
+            rebalancePath(depth);
+            return true;
+        }
 
-            // Update height of this node
-            node.height = 1 + Math.max(height(node.left), height(node.right));
+        /**
+         * Check whether a value is present
+         * Time Complexity: O(log n), iterative
+         */
+        public boolean search(int data) {
+            Node node = root;
+            while (node != null) {
+                if (data == node.data) {
+                    return true;
+                }
+                node = data < node.data ? node.left : node.right;
+            }
+            return false;
+        }
 
-            // Get the balance factor to check whether this node became unbalanced
-            int balance = getBalance(node);
+        public int size() {
+            return size(root);
+        }
 
-            // Left Left Case
-            if (balance > 1 && data < node.left.data)
-                return rightRotate(node);
+        public boolean isEmpty() {
+            return root == null;
+        }
 
-            // Right Right Case
-            if (balance < -1 && data > node.right.data)
-                return leftRotate(node);
+        public int height() {
+            return height(root);
+        }
 
-            // Left Right Case
-            if (balance > 1 && data > node.left.data) {
-                node.left = leftRotate(node.left);
-                return rightRotate(node);
+        /**
+         * Number of keys strictly smaller than x
+         * Time Complexity: O(log n) using subtree sizes
+         */
+        public int rank(int x) {
+            return countBelow(x);
+        }
+
+        // Number of keys < bound; a long bound lets callers pass hi + 1
+        private int countBelow(long bound) {
+            int count = 0;
+            Node node = root;
+            while (node != null) {
+                if (bound <= node.data) {
+                    node = node.left;
+                } else {
+                    count += size(node.left) + 1;
+                    node = node.right;
+                }
             }
+            return count;
+        }
 
-            // Right Left Case
-            if (balance < -1 && data < node.right.data) {
-                node.right = rightRotate(node.right);
-                return leftRotate(node);
+        // Sum of the keys < bound
+        private long sumBelow(long bound) {
+            long total = 0;
+            Node node = root;
+            while (node != null) {
+                if (bound <= node.data) {
+                    node = node.left;
+                } else {
+                    total += sum(node.left) + node.data;
+                    node = node.right;
+                }
             }
+            return total;
+        }
 
-            return node;
+        /**
+         * The k-th smallest key, counting from 0
+         * Time Complexity: O(log n) using subtree sizes
+         */
+        public int select(int k) {
+            if (k < 0 || k >= size()) {
+                throw new IndexOutOfBoundsException("k = " + k + ", size = " + size());
+            }
+            Node node = root;
+            while (true) {
+                int leftSize = size(node.left);
+                if (k < leftSize) {
+                    node = node.left;
+                } else if (k == leftSize) {
+                    return node.data;
+                } else {
+                    k -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+        }
+
+        /**
+         * Number of keys in [lo, hi]
+         * Time Complexity: O(log n)
+         */
+        public int countInRange(int lo, int hi) {
+            if (lo > hi) {
+                return 0;
+            }
+            return countBelow((long) hi + 1) - countBelow(lo);
+        }
+
+        /**
+         * Sum of the keys in [lo, hi]
+         * Time Complexity: O(log n) using subtree sums
+         */
+        public long sumInRange(int lo, int hi) {
+            if (lo > hi) {
+                return 0;
+            }
+            return sumBelow((long) hi + 1) - sumBelow(lo);
+        }
+
+        /**
+         * Keys in [lo, hi] in ascending order
+         * Time Complexity: O(log n + k) for k results; the output array is
+         * sized exactly with countInRange
+         */
+        public int[] range(int lo, int hi) {
+            if (lo > hi) {
+                return new int[0];
+            }
+            int count = countInRange(lo, hi);
+            int[] result = new int[count];
+            int n = 0;
+
+            // Iterative in-order walk that skips subtrees outside [lo, hi]
+            Node[] stack = new Node[Math.max(height(), 1)];
+            int top = 0;
+            Node node = root;
+            while (node != null || top > 0) {
+                while (node != null) {
+                    if (node.data < lo) {
+                        node = node.right;
+                    } else {
+                        stack[top++] = node;
+                        node = node.left;
+                    }
+                }
+                if (top == 0) {
+                    break; // every remaining key is below lo
+                }
+                node = stack[--top];
+                if (node.data > hi) {
+                    break;
+                }
+                result[n++] = node.data;
+                node = node.right;
+            }
+            return result;
+        }
+
+        // All keys in ascending order
+        public int[] toArray() {
+            return isEmpty() ? new int[0] : range(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Check ordering, balance factors, heights and sizes of every node
+         * Time Complexity: O(n)
+         */
+        public boolean isValid() {
+            return isValid(root, Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+
+        private static boolean isValid(Node node, long min, long max) {
+            if (node == null) {
+                return true;
+            }
+            if (node.data <= min || node.data >= max) {
+                return false;
+            }
+            if (Math.abs(getBalance(node)) > 1
+                    || node.height != Math.max(height(node.left), height(node.right)) + 1
+                    || node.size != size(node.left) + size(node.right) + 1
+                    || node.sum != sum(node.left) + sum(node.right) + node.data) {
+                return false;
+            }
+            return isValid(node.left, min, node.data) && isValid(node.right, node.data, max);
+        }
+    }
+
+    // Compare AVLTree with java.util.TreeSet<Integer> on the same random
+    // workload: inserts, lookups, deletes and range sums
+    private static void benchmark(int n) {
+        Random random = new Random(42);
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt(Integer.MAX_VALUE / 2);
+        }
+        long checksum = 0;
+
+        long start = System.nanoTime();
+        AVLTree avl = new AVLTree();
+        for (int key : keys) {
+            avl.insert(key);
+        }
+        long avlInsert = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        TreeSet<Integer> treeSet = new TreeSet<>();
+        for (int key : keys) {
+            treeSet.add(key);
+        }
+        long treeSetInsert = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int key : keys) {
+            checksum += avl.search(key ^ 1) ? 1 : 0;
+        }
+        long avlSearch = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int key : keys) {
+            checksum += treeSet.contains(key ^ 1) ? 1 : 0;
+        }
+        long treeSetSearch = System.nanoTime() - start;
+
+        int queries = 10_000;
+        start = System.nanoTime();
+        for (int q = 0; q < queries; q++) {
+            int lo = keys[q];
+            checksum += avl.sumInRange(lo, lo + 1_000_000);
+        }
+        long avlRange = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int q = 0; q < queries; q++) {
+            int lo = keys[q];
+            // TreeSet has to walk every key in the range
+            for (int key : treeSet.subSet(lo, true, lo + 1_000_000, true)) {
+                checksum += key;
+            }
+        }
+        long treeSetRange = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < n; i += 2) {
+            avl.delete(keys[i]);
+        }
+        long avlDelete = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < n; i += 2) {
+            treeSet.remove(keys[i]);
+        }
+        long treeSetDelete = System.nanoTime() - start;
+
+        int[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        start = System.nanoTime();
+        AVLTree bulk = AVLTree.fromSorted(sorted);
+        long bulkTime = System.nanoTime() - start;
+
+        System.out.println(n + " random keys (checksum " + checksum + ", sizes " + avl.size() + "/" + treeSet.size() + "):");
+        System.out.printf("  insert:       AVLTree %4d ms, TreeSet %4d ms%n", avlInsert / 1_000_000, treeSetInsert / 1_000_000);
+        System.out.printf("  search:       AVLTree %4d ms, TreeSet %4d ms%n", avlSearch / 1_000_000, treeSetSearch / 1_000_000);
+        System.out.printf("  range sum:    AVLTree %4d ms, TreeSet %4d ms%n", avlRange / 1_000_000, treeSetRange / 1_000_000);
+        System.out.printf("  delete half:  AVLTree %4d ms, TreeSet %4d ms%n", avlDelete / 1_000_000, treeSetDelete / 1_000_000);
+        System.out.printf("  fromSorted:   %d ms, height %d%n", bulkTime / 1_000_000, bulk.height());
+    }
+
+    public static void main(String[] args) {
+        AVLTree tree = new AVLTree();
+        // Sorted inserts would turn a plain BST into a linked list
+        for (int i = 1; i <= 10; i++) {
+            tree.insert(i * 10);
+        }
+        System.out.println("Keys:   " + Arrays.toString(tree.toArray()));
+        System.out.println("Height: " + tree.height() + ", valid AVL: " + tree.isValid());
+
+        tree.delete(40);
+        tree.delete(10);
+        System.out.println("After deleting 40 and 10: " + Arrays.toString(tree.toArray()) + ", valid AVL: " + tree.isValid());
+        System.out.println("Search 50: " + tree.search(50) + ", search 40: " + tree.search(40));
+        System.out.println("Rank of 55 (keys < 55): " + tree.rank(55));
+        System.out.println("Keys in [25, 75]: " + Arrays.toString(tree.range(25, 75)));
+        System.out.println("3rd smallest (select 2): " + tree.select(2));
+        System.out.println("Count in [25, 75]: " + tree.countInRange(25, 75) + ", sum in [25, 75]: " + tree.sumInRange(25, 75));
+
+        AVLTree bulk = AVLTree.fromSorted(new int[]{1, 2, 2, 3, 5, 8, 13, 21});
+        System.out.println("Bulk built: " + Arrays.toString(bulk.toArray()) + ", height " + bulk.height());
+
+        // Pass a key count (e.g. 1000000) to benchmark against TreeSet
+        if (args.length > 0) {
+            System.out.println("\nBenchmark against TreeSet<Integer>:");
+            benchmark(Integer.parseInt(args[0]));
         }
     }
 }
@@ -0,0 +1,602 @@
+package DataStructures.NonLinear.Tree.BinarySearchTree;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ordered set of ints shared by many threads, with the same operations as
+ * code.BinarySearchTree (insert, search, delete, inOrderTraversal) plus
+ * consistent snapshot range scans
+ *
+ * Structure: a lazy skip list (Herlihy, Lev, Luchangco and Shavit)
+ * - search never locks: it walks the levels and reads one volatile field
+ * - insert/delete lock only the few nodes around the key
+ *
+ * Snapshots use versioned nodes (multi-version concurrency control):
+ * - Every write pushes a Version (live or deleted) onto its node, stamped
+ *   with a global clock value when it takes effect
+ * - A snapshot is just a clock value v; it sees, for every node, the newest
+ *   version stamped <= v. Scans take no locks and never retry
+ * - A version left unstamped by a slow writer is stamped by whoever reads it
+ *   first, so a scan never waits for a writer
+ * - Deleted nodes and old versions are unlinked only once no open snapshot
+ *   can still see them; open snapshots announce themselves in a small array
+ */
+public class ConcurrentOrderedSet {
+    private static final int MAX_LEVEL = 24;
+    private static final long UNSET = 0;
+    private static final int SNAPSHOT_SLOTS = 64;
+    private static final int RECLAIM_BATCH = 64;
+
+    private static final VarHandle STAMP;
+    private static final VarHandle NEXT = MethodHandles.arrayElementVarHandle(Node[].class);
+
+    static {
+        try {
+            STAMP = MethodHandles.lookup().findVarHandle(Version.class, "stamp", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // One write to a key; older points to the previous write
+    private static final class Version {
+        final boolean live;
+        volatile long stamp = UNSET;
+        volatile Version older;
+
+        Version(boolean live, Version older) {
+            this.live = live;
+            this.older = older;
+        }
+    }
+
+    private static final class Node {
+        final long key; // long, so the sentinels sort outside every int key
+        final int topLevel;
+        final Node[] next; // read and written through NEXT (volatile)
+        final ReentrantLock lock = new ReentrantLock();
+        volatile boolean marked;      // being unlinked
+        volatile boolean fullyLinked; // linked at every level
+        volatile Version version;     // newest write, guarded by lock
+
+        Node(long key, int topLevel, Version version) {
+            this.key = key;
+            this.topLevel = topLevel;
+            this.next = new Node[topLevel];
+            this.version = version;
+        }
+    }
+
+    private final Node head = new Node(Long.MIN_VALUE, MAX_LEVEL, null);
+    private final Node tail = new Node(Long.MAX_VALUE, MAX_LEVEL, null);
+    private final AtomicLong clock = new AtomicLong(1);
+    private final AtomicLongArray snapshots = new AtomicLongArray(SNAPSHOT_SLOTS); // 0 = free slot
+    private final ConcurrentLinkedQueue<Node> retired = new ConcurrentLinkedQueue<>();
+
+    public ConcurrentOrderedSet() {
+        for (int level = 0; level < MAX_LEVEL; level++) {
+            setNext(head, level, tail);
+        }
+        head.fullyLinked = tail.fullyLinked = true;
+    }
+
+    private static Node next(Node node, int level) {
+        return (Node) NEXT.getVolatile(node.next, level);
+    }
+
+    private static void setNext(Node node, int level, Node next) {
+        NEXT.setVolatile(node.next, level, next);
+    }
+
+    // Stamp of a version, fixing it to the current clock if still unset.
+    // The first CAS wins, so every thread agrees on the result.
+    private long stamp(Version version) {
+        long stamp = version.stamp;
+        if (stamp == UNSET) {
+            STAMP.compareAndSet(version, UNSET, clock.get());
+            stamp = version.stamp;
+        }
+        return stamp;
+    }
+
+    // Geometric level: level k with probability 2^-k
+    private static int randomLevel() {
+        int bits = ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1));
+        return Integer.numberOfTrailingZeros(bits) + 1;
+    }
+
+    // Fill preds/succs around key on every level; returns the highest level
+    // where a node with key was found, or -1
+    private int find(long key, Node[] preds, Node[] succs) {
+        int found = -1;
+        Node pred = head;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            Node curr = next(pred, level);
+            while (curr.key < key) {
+                pred = curr;
+                curr = next(pred, level);
+            }
+            if (found == -1 && curr.key == key) {
+                found = level;
+            }
+            preds[level] = pred;
+            succs[level] = curr;
+        }
+        return found;
+    }
+
+    // First node on the bottom level with key >= key
+    private Node ceilingNode(long key) {
+        Node pred = head;
+        Node curr = null;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            curr = next(pred, level);
+            while (curr.key < key) {
+                pred = curr;
+                curr = next(pred, level);
+            }
+        }
+        return curr; // not next(pred, 0) again: a smaller key may have been inserted since
+    }
+
+    /**
+     * Check whether a value is present
+     * Never locks or waits. Time Complexity: O(log n) expected
+     */
+    public boolean search(int data) {
+        Node node = ceilingNode(data);
+        if (node.key != data) {
+            return false;
+        }
+        Version version = node.version;
+        stamp(version); // a later snapshot must agree with this answer
+        return version.live;
+    }
+
+    /**
+     * Insert a value; returns false if it was already present
+     * Time Complexity: O(log n) expected
+     */
+    public boolean insert(int data) {
+        Node[] preds = new Node[MAX_LEVEL];
+        Node[] succs = new Node[MAX_LEVEL];
+        int topLevel = randomLevel();
+        while (true) {
+            int found = find(data, preds, succs);
+            if (found != -1) {
+                // The key has a node (maybe holding a deleted version): add a
+                // new version instead of a new node
+                Node node = succs[found];
+                if (!node.marked) {
+                    while (!node.fullyLinked) {
+                        Thread.onSpinWait();
+                    }
+                    int result = write(node, true);
+                    if (result >= 0) {
+                        return result == 1;
+                    }
+                }
+                continue; // node is being unlinked, retry
+            }
+
+            int highestLocked = -1;
+            try {
+                boolean valid = true;
+                for (int level = 0; valid && level < topLevel; level++) {
+                    Node pred = preds[level], succ = succs[level];
+                    pred.lock.lock();
+                    highestLocked = level;
+                    valid = !pred.marked && !succ.marked && next(pred, level) == succ;
+                }
+                if (!valid) {
+                    continue; // something changed between find and lock
+                }
+                Node node = new Node(data, topLevel, new Version(true, null));
+                for (int level = 0; level < topLevel; level++) {
+                    setNext(node, level, succs[level]);
+                }
+                for (int level = 0; level < topLevel; level++) {
+                    setNext(preds[level], level, node);
+                }
+                node.fullyLinked = true;
+                stamp(node.version);
+                return true;
+            } finally {
+                for (int level = 0; level <= highestLocked; level++) {
+                    preds[level].lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Delete a value; returns false if it was not present
+     * Time Complexity: O(log n) expected
+     */
+    public boolean delete(int data) {
+        Node node = ceilingNode(data);
+        if (node.key != data || node.marked) {
+            return false;
+        }
+        while (!node.fullyLinked) {
+            Thread.onSpinWait();
+        }
+        if (write(node, false) != 1) {
+            return false;
+        }
+        retired.add(node);
+        reclaim();
+        return true;
+    }
+
+    // Push a live/deleted version under the node lock.
+    // Returns 1 if the state changed, 0 if it already was that, -1 if the
+    // node is being unlinked
+    private int write(Node node, boolean live) {
+        node.lock.lock();
+        try {
+            if (node.marked) {
+                return -1;
+            }
+            Version current = node.version;
+            stamp(current);
+            if (current.live == live) {
+                return 0;
+            }
+            Version next = new Version(live, current);
+            node.version = next;
+            stamp(next);
+            trim(current);
+            return 1;
+        } finally {
+            node.lock.unlock();
+        }
+    }
+
+    // Cut versions no open or future snapshot can reach: below the newest
+    // version stamped <= safeStamp() nothing is ever read again
+    private void trim(Version version) {
+        if (version.older == null) {
+            return;
+        }
+        long safe = safeStamp();
+        while (version != null && version.stamp > safe) {
+            version = version.older;
+        }
+        if (version != null) {
+            version.older = null;
+        }
+    }
+
+    // Every open snapshot, and every snapshot opened later, has a version
+    // >= the returned stamp. The clock is read before the slots: a snapshot
+    // announced after the slots were read takes a version >= that clock.
+    private long safeStamp() {
+        long safe = clock.get();
+        for (int i = 0; i < SNAPSHOT_SLOTS; i++) {
+            long announced = snapshots.get(i);
+            if (announced != 0 && announced < safe) {
+                safe = announced;
+            }
+        }
+        return safe;
+    }
+
+    // Unlink deleted nodes that no snapshot can see any more; the rest go
+    // back on the queue for a later call
+    private void reclaim() {
+        long safe = safeStamp();
+        for (int i = 0; i < RECLAIM_BATCH; i++) {
+            Node node = retired.poll();
+            if (node == null) {
+                return;
+            }
+            Version version = node.version;
+            if (version.live || node.marked) {
+                continue; // inserted again, or already unlinked
+            }
+            if (version.stamp > safe) {
+                retired.add(node);
+                return;
+            }
+            unlink(node, safe);
+        }
+    }
+
+    private void unlink(Node node, long safe) {
+        node.lock.lock();
+        try {
+            Version version = node.version;
+            if (node.marked || version.live || version.stamp > safe) {
+                return;
+            }
+            node.marked = true; // from now on inserts of this key wait for the unlink
+        } finally {
+            node.lock.unlock();
+        }
+
+        Node[] preds = new Node[MAX_LEVEL];
+        Node[] succs = new Node[MAX_LEVEL];
+        while (true) {
+            find(node.key, preds, succs);
+            int highestLocked = -1;
+            try {
+                boolean valid = true;
+                for (int level = 0; valid && level < node.topLevel; level++) {
+                    Node pred = preds[level];
+                    pred.lock.lock();
+                    highestLocked = level;
+                    valid = !pred.marked && next(pred, level) == node;
+                }
+                if (!valid) {
+                    continue;
+                }
+                // node.next stays intact, so a scan standing on node can go on
+                for (int level = node.topLevel - 1; level >= 0; level--) {
+                    setNext(preds[level], level, next(node, level));
+                }
+                return;
+            } finally {
+                for (int level = 0; level <= highestLocked; level++) {
+                    preds[level].lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Open a consistent point-in-time view of the set
+     * Writers keep going; the snapshot only pins versions it may still read.
+     * Close it (try-with-resources) so deleted nodes can be unlinked.
+     */
+    public Snapshot snapshot() {
+        // Announce a lower bound first, then take the version, so
+        // safeStamp() can never overtake this snapshot
+        int slot = ThreadLocalRandom.current().nextInt(SNAPSHOT_SLOTS);
+        while (!snapshots.compareAndSet(slot, 0, clock.get())) {
+            slot = (slot + 1) % SNAPSHOT_SLOTS;
+            if (slot == 0) {
+                Thread.yield(); // more than SNAPSHOT_SLOTS snapshots open at once
+            }
+        }
+        // Advancing the clock makes every write not yet stamped land after
+        // this snapshot
+        return new Snapshot(slot, clock.getAndIncrement());
+    }
+
+    public final class Snapshot implements AutoCloseable {
+        private final int slot;
+        private final long version;
+        private boolean closed;
+
+        private Snapshot(int slot, long version) {
+            this.slot = slot;
+            this.version = version;
+        }
+
+        private boolean visible(Node node) {
+            Version v = node.version;
+            if (v == null) {
+                return false;
+            }
+            stamp(v);
+            while (v != null && v.stamp > version) {
+                v = v.older;
+            }
+            return v != null && v.live;
+        }
+
+        public boolean search(int data) {
+            Node node = ceilingNode(data);
+            return node.key == data && visible(node);
+        }
+
+        /**
+         * Keys in [lo, hi] as of this snapshot, ascending
+         * Time Complexity: O(log n + k) expected, without locks or retries
+         */
+        public int[] range(int lo, int hi) {
+            int[] keys = new int[16];
+            int n = 0;
+            for (Node node = ceilingNode(lo); node.key <= hi; node = next(node, 0)) {
+                if (visible(node)) {
+                    if (n == keys.length) {
+                        keys = Arrays.copyOf(keys, n * 2);
+                    }
+                    keys[n++] = (int) node.key;
+                }
+            }
+            return Arrays.copyOf(keys, n);
+        }
+
+        public int[] toArray() {
+            return range(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                snapshots.set(slot, 0);
+                reclaim();
+            }
+        }
+    }
+
+    /**
+     * Keys in [lo, hi] as they were at one instant, ascending
+     */
+    public int[] range(int lo, int hi) {
+        try (Snapshot snapshot = snapshot()) {
+            return snapshot.range(lo, hi);
+        }
+    }
+
+    // In-order traversal of a snapshot, printed like BinarySearchTree does
+    public void inOrderTraversal() {
+        try (Snapshot snapshot = snapshot()) {
+            for (int key : snapshot.toArray()) {
+                System.out.print(key + " ");
+            }
+        }
+        System.out.println();
+    }
+
+    // Operations per second for a read/write mix on a shared set
+    private interface SetOperations {
+        void insert(int key);
+
+        void delete(int key);
+
+        boolean search(int key);
+    }
+
+    private static double run(SetOperations set, int threads, int operations, int readPercent, int keyRange)
+            throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        int perThread = operations / threads;
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int hits = 0;
+                for (int i = 0; i < perThread; i++) {
+                    int key = random.nextInt(keyRange);
+                    int op = random.nextInt(100);
+                    if (op < readPercent) {
+                        hits += set.search(key) ? 1 : 0;
+                    } else if ((op & 1) == 0) {
+                        set.insert(key);
+                    } else {
+                        set.delete(key);
+                    }
+                }
+                if (hits < 0) {
+                    System.out.println(hits); // keep the reads alive
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return perThread * (double) threads / ((System.nanoTime() - start) / 1e9);
+    }
+
+    // Contention benchmark: this set against code.BinarySearchTree behind
+    // one lock, 1 to 64 threads, read-heavy to write-heavy mixes
+    private static void benchmark(int operations, int keyRange) throws InterruptedException {
+        int[] readMixes = {90, 50, 10};
+        System.out.println("threads\treads%\tsynchronized BST (Mops/s)\tConcurrentOrderedSet (Mops/s)");
+        for (int readPercent : readMixes) {
+            for (int threads = 1; threads <= 64; threads *= 2) {
+                code.BinarySearchTree tree = new code.BinarySearchTree();
+                ConcurrentOrderedSet set = new ConcurrentOrderedSet();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < keyRange / 2; i++) {
+                    int key = random.nextInt(keyRange);
+                    tree.insert(key);
+                    set.insert(key);
+                }
+
+                Object lock = new Object();
+                double locked = run(new SetOperations() {
+                    public void insert(int key) {
+                        synchronized (lock) {
+                            tree.insert(key);
+                        }
+                    }
+
+                    public void delete(int key) {
+                        synchronized (lock) {
+                            tree.delete(key);
+                        }
+                    }
+
+                    public boolean search(int key) {
+                        synchronized (lock) {
+                            return tree.search(key);
+                        }
+                    }
+                }, threads, operations, readPercent, keyRange);
+
+                double concurrent = run(new SetOperations() {
+                    public void insert(int key) {
+                        set.insert(key);
+                    }
+
+                    public void delete(int key) {
+                        set.delete(key);
+                    }
+
+                    public boolean search(int key) {
+                        return set.search(key);
+                    }
+                }, threads, operations, readPercent, keyRange);
+
+                System.out.printf("%d\t%d\t%.2f\t\t\t\t%.2f%n", threads, readPercent, locked / 1e6, concurrent / 1e6);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        ConcurrentOrderedSet set = new ConcurrentOrderedSet();
+        int[] keys = {50, 30, 20, 40, 70, 60, 80};
+        for (int key : keys) {
+            set.insert(key);
+        }
+        System.out.println("Inorder traversal:");
+        set.inOrderTraversal();
+
+        // A snapshot keeps its view while the set changes
+        try (Snapshot snapshot = set.snapshot()) {
+            set.delete(40);
+            set.insert(45);
+            System.out.println("Live set after deleting 40, inserting 45: " + Arrays.toString(set.range(0, 100)));
+            System.out.println("Snapshot taken before:                   " + Arrays.toString(snapshot.toArray()));
+            System.out.println("Snapshot search 40: " + snapshot.search(40) + ", live search 40: " + set.search(40));
+        }
+
+        // Scans running next to writers always see a consistent set
+        ConcurrentOrderedSet pairs = new ConcurrentOrderedSet();
+        Thread writer = new Thread(() -> {
+            // 2k + 1 is only ever present together with 2k: inserted after
+            // it and deleted before it
+            for (int round = 0; round < 200_000; round++) {
+                int k = 2 * ThreadLocalRandom.current().nextInt(1_000);
+                pairs.insert(k);
+                pairs.insert(k + 1);
+                pairs.delete(k + 1);
+                pairs.delete(k);
+            }
+        });
+        writer.start();
+        int scans = 0;
+        long torn = 0;
+        while (writer.isAlive()) {
+            // A torn view would show 2k + 1 without 2k
+            int[] snapshotKeys = pairs.range(0, 2_000);
+            for (int key : snapshotKeys) {
+                if ((key & 1) == 1 && Arrays.binarySearch(snapshotKeys, key - 1) < 0) {
+                    torn++;
+                }
+            }
+            scans++;
+        }
+        writer.join();
+        System.out.println(scans + " scans next to a writer, inconsistent views: " + torn);
+
+        // Pass an operation count (e.g. 1000000) to run the contention benchmark
+        if (args.length > 0) {
+            System.out.println("\nContention benchmark (" + Runtime.getRuntime().availableProcessors() + " cores):");
+            benchmark(Integer.parseInt(args[0]), 100_000);
+        }
+    }
+}
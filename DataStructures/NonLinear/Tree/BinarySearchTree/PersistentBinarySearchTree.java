@@ -0,0 +1,362 @@
+package DataStructures.NonLinear.Tree.BinarySearchTree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Persistent (immutable) balanced binary search tree
+ * Nodes are never modified. insert and delete copy only the nodes on the
+ * path from the root to the change (path copying) and return a new tree
+ * that shares every other node with the old one. Each tree value is
+ * therefore a snapshot that stays valid forever: readers need no locks and
+ * nothing is copied in full.
+ *
+ * Balance uses the AVL rule, so a path, and the copy made per update, has
+ * O(log n) nodes.
+ */
+public final class PersistentBinarySearchTree {
+    // Immutable node; height and size are fixed at construction
+    static final class Node {
+        final int data, height, size;
+        final Node left, right;
+
+        Node(int data, Node left, Node right) {
+            this.data = data;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    public static final PersistentBinarySearchTree EMPTY = new PersistentBinarySearchTree(null);
+
+    private final Node root;
+
+    private PersistentBinarySearchTree(Node root) {
+        this.root = root;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    // New node for data over l and r, with at most two rotations if the
+    // heights differ by two. Rotations build new nodes too; the old ones
+    // stay untouched for older versions.
+    private static Node balance(int data, Node l, Node r) {
+        int hl = height(l), hr = height(r);
+        if (hl > hr + 1) {
+            if (height(l.left) >= height(l.right)) {
+                // Left Left Case: right rotation
+                return new Node(l.data, l.left, new Node(data, l.right, r));
+            }
+            // Left Right Case
+            return new Node(l.right.data,
+                    new Node(l.data, l.left, l.right.left),
+                    new Node(data, l.right.right, r));
+        }
+        if (hr > hl + 1) {
+            if (height(r.right) >= height(r.left)) {
+                // Right Right Case: left rotation
+                return new Node(r.data, new Node(data, l, r.left), r.right);
+            }
+            // Right Left Case
+            return new Node(r.left.data,
+                    new Node(data, l, r.left.left),
+                    new Node(r.data, r.left.right, r.right));
+        }
+        return new Node(data, l, r);
+    }
+
+    /**
+     * Tree with data added; this tree is unchanged
+     * Returns this tree itself if data is already present
+     * Time and extra space: O(log n)
+     */
+    public PersistentBinarySearchTree insert(int data) {
+        Node newRoot = insert(root, data);
+        return newRoot == root ? this : new PersistentBinarySearchTree(newRoot);
+    }
+
+    private static Node insert(Node node, int data) {
+        if (node == null) {
+            return new Node(data, null, null);
+        }
+        if (data < node.data) {
+            Node left = insert(node.left, data);
+            return left == node.left ? node : balance(node.data, left, node.right);
+        }
+        if (data > node.data) {
+            Node right = insert(node.right, data);
+            return right == node.right ? node : balance(node.data, node.left, right);
+        }
+        return node; // Duplicate values are not allowed in BST
+    }
+
+    /**
+     * Tree with data removed; this tree is unchanged
+     * Returns this tree itself if data is absent
+     * Time and extra space: O(log n)
+     */
+    public PersistentBinarySearchTree delete(int data) {
+        Node newRoot = delete(root, data);
+        return newRoot == root ? this : new PersistentBinarySearchTree(newRoot);
+    }
+
+    private static Node delete(Node node, int data) {
+        if (node == null) {
+            return null;
+        }
+        if (data < node.data) {
+            Node left = delete(node.left, data);
+            return left == node.left ? node : balance(node.data, left, node.right);
+        }
+        if (data > node.data) {
+            Node right = delete(node.right, data);
+            return right == node.right ? node : balance(node.data, node.left, right);
+        }
+        // Node with one child or no child
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        // Node with two children: the in-order successor takes its place
+        Node successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.data, node.left, deleteMin(node.right));
+    }
+
+    private static Node deleteMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.data, deleteMin(node.left), node.right);
+    }
+
+    // Search a value
+    public boolean search(int data) {
+        Node node = root;
+        while (node != null) {
+            if (data == node.data) {
+                return true;
+            }
+            node = data < node.data ? node.left : node.right;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public int height() {
+        return height(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    // All keys in ascending order
+    public int[] toArray() {
+        int[] keys = new int[size()];
+        fill(root, keys, 0);
+        return keys;
+    }
+
+    private static int fill(Node node, int[] keys, int i) {
+        if (node == null) {
+            return i;
+        }
+        i = fill(node.left, keys, i);
+        keys[i++] = node.data;
+        return fill(node.right, keys, i);
+    }
+
+    // In-order traversal
+    public void inOrderTraversal() {
+        for (int key : toArray()) {
+            System.out.print(key + " ");
+        }
+        System.out.println();
+    }
+
+    /**
+     * Writers publish new versions here; readers take snapshots
+     * current() is a single volatile read, so readers never lock and never
+     * wait for writers. Writers are serialized among themselves.
+     *
+     * Retention: every published version stays reachable by number, and so
+     * keeps its O(log n) copied nodes alive, until truncateBefore drops it.
+     * A long-running writer should call truncateBefore once it no longer
+     * needs old numbers. A dropped version is still valid for readers that
+     * already hold it; it is only forgotten by the History.
+     */
+    public static final class History {
+        private volatile PersistentBinarySearchTree current = EMPTY;
+        private final List<PersistentBinarySearchTree> versions = new ArrayList<>();
+        private int oldest; // number of versions.get(0)
+
+        public History() {
+            versions.add(EMPTY);
+        }
+
+        // Latest version; stays consistent however long it is held
+        public PersistentBinarySearchTree current() {
+            return current;
+        }
+
+        public synchronized PersistentBinarySearchTree version(int number) {
+            if (number < oldest || number > latestVersion()) {
+                throw new IndexOutOfBoundsException("Version " + number + " is not retained (oldest "
+                        + oldest + ", latest " + latestVersion() + ")");
+            }
+            return versions.get(number - oldest);
+        }
+
+        public synchronized int latestVersion() {
+            return oldest + versions.size() - 1;
+        }
+
+        public synchronized int oldestVersion() {
+            return oldest;
+        }
+
+        // Number of versions currently retained
+        public synchronized int versionCount() {
+            return versions.size();
+        }
+
+        /**
+         * Forget every version numbered below number; the latest version is
+         * always kept. Numbers of the remaining versions do not change.
+         * Time Complexity: O(retained versions)
+         */
+        public synchronized void truncateBefore(int number) {
+            int drop = Math.min(number, latestVersion()) - oldest;
+            if (drop > 0) {
+                versions.subList(0, drop).clear();
+                oldest += drop;
+            }
+        }
+
+        // Returns the number of the new version, or of the current one if
+        // the tree did not change (duplicate insert, absent delete)
+        public synchronized int insert(int data) {
+            return publish(current.insert(data));
+        }
+
+        public synchronized int delete(int data) {
+            return publish(current.delete(data));
+        }
+
+        private int publish(PersistentBinarySearchTree tree) {
+            if (tree != current) {
+                versions.add(tree);
+                current = tree;
+            }
+            return latestVersion();
+        }
+    }
+
+    // Number of distinct nodes reachable from all the given versions
+    static long distinctNodes(List<PersistentBinarySearchTree> trees) {
+        IdentityHashMap<Node, Boolean> seen = new IdentityHashMap<>();
+        Node[] stack = new Node[64];
+        for (PersistentBinarySearchTree tree : trees) {
+            int top = 0;
+            if (tree.root != null) {
+                stack[top++] = tree.root;
+            }
+            while (top > 0) {
+                Node node = stack[--top];
+                if (seen.put(node, Boolean.TRUE) != null) {
+                    continue; // shared with a version already counted
+                }
+                if (node.left != null) {
+                    stack[top++] = node.left;
+                }
+                if (node.right != null) {
+                    stack[top++] = node.right;
+                }
+            }
+        }
+        return seen.size();
+    }
+
+    // Memory cost of keeping every version: nodes added per version by path
+    // copying, compared with copying the whole tree per version
+    private static void measureVersionOverhead(int n, int updates) {
+        Random random = new Random(42);
+        int[] keys = new int[n];
+        PersistentBinarySearchTree tree = EMPTY;
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt();
+            tree = tree.insert(keys[i]);
+        }
+
+        // Alternate inserting new keys and deleting existing ones
+        List<PersistentBinarySearchTree> versions = new ArrayList<>();
+        versions.add(tree);
+        for (int i = 0; i < updates; i++) {
+            if (i % 2 == 0) {
+                tree = tree.insert(random.nextInt());
+            } else {
+                tree = tree.delete(keys[random.nextInt(n)]);
+            }
+            versions.add(tree);
+        }
+
+        long base = distinctNodes(versions.subList(0, 1));
+        long total = distinctNodes(versions);
+        double perVersion = (double) (total - base) / updates;
+        // Compressed-oops node: 12-byte header + 3 ints + 2 references = 32 bytes
+        int nodeBytes = 32;
+        System.out.printf("%d keys, %d versions kept:%n", tree.size(), updates + 1);
+        System.out.printf("  new nodes per version: %.1f (about %.0f bytes), tree height %d%n",
+                perVersion, perVersion * nodeBytes, tree.height());
+        System.out.printf("  full copy per version: %d nodes (about %d bytes)%n",
+                tree.size(), (long) tree.size() * nodeBytes);
+    }
+
+    public static void main(String[] args) {
+        History history = new History();
+        int[] keys = {50, 30, 20, 40, 70, 60, 80};
+        for (int key : keys) {
+            history.insert(key);
+        }
+        PersistentBinarySearchTree snapshot = history.current();
+
+        int deleted = history.delete(40);
+        history.insert(45);
+        System.out.print("Snapshot before the delete: ");
+        snapshot.inOrderTraversal();
+        System.out.print("Current version:            ");
+        history.current().inOrderTraversal();
+        System.out.println("Version " + deleted + " (after deleting 40): " + Arrays.toString(history.version(deleted).toArray()));
+        System.out.println("Snapshot search 40: " + snapshot.search(40) + ", current search 40: " + history.current().search(40));
+        System.out.println("Insert 45 again, version stays " + history.insert(45));
+        System.out.println("Versions kept: " + history.versionCount());
+        history.truncateBefore(deleted);
+        System.out.println("After truncateBefore(" + deleted + "): versions " + history.oldestVersion()
+                + ".." + history.latestVersion() + " kept");
+
+        // Pass a key count (e.g. 1048576) to measure the memory cost of versions
+        if (args.length > 0) {
+            System.out.println("\nMemory overhead of versions:");
+            measureVersionOverhead(Integer.parseInt(args[0]), 10_000);
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package DataStructures.NonLinear.Tree.BinarySearchTree;
 
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
 public class code {
     // Node class for the binary search tree
     static class Node {
@@ -21,90 +25,162 @@ public class code {
         }
         
         // Insert a value
+        // Iterative, so sorted input (which makes the tree a linked list)
+        // costs time but cannot overflow the call stack
         public void insert(int data) {
-            root = insertRec(root, data);
-        }
-        
-        private Node insertRec(Node root, int data) {
             if (root == null) {
                 root = new Node(data);
-                return root;
+                return;
+            }
+            Node node = root;
+            while (true) {
+                if (data < node.data) {
+                    if (node.left == null) {
+                        node.left = new Node(data);
+                        return;
+                    }
+                    node = node.left;
+                } else if (data > node.data) {
+                    if (node.right == null) {
+                        node.right = new Node(data);
+                        return;
+                    }
+                    node = node.right;
+                } else {
+                    return; // Duplicate values are ignored
+                }
             }
-            
-            if (data < root.data)
-                root.left = insertRec(root.left, data);
-            else if (data > root.data)
-                root.right = insertRec(root.right, data);
-            
-            return root;
         }
         
         // Search a value
         public boolean search(int data) {
-            return searchRec(root, data);
-        }
-        
-        private boolean searchRec(Node root, int data) {
-            if (root == null)
-                return false;
-            if (root.data == data)
-                return true;
-            
-            return (data < root.data) 
-                ? searchRec(root.left, data) 
-                : searchRec(root.right, data);
+            Node node = root;
+            while (node != null) {
+                if (node.data == data)
+                    return true;
+                node = (data < node.data) ? node.left : node.right;
+            }
+            return false;
         }
         
         // Delete a value
+        // Iterative like insert, so deleting from a degenerate tree cannot
+        // overflow the call stack
         public void delete(int data) {
-            root = deleteRec(root, data);
-        }
-        
-        private Node deleteRec(Node root, int data) {
-            if (root == null) return null;
+            Node parent = null;
+            Node node = root;
+            while (node != null && node.data != data) {
+                parent = node;
+                node = (data < node.data) ? node.left : node.right;
+            }
+            if (node == null) return;
             
-            if (data < root.data)
-                root.left = deleteRec(root.left, data);
-            else if (data > root.data)
-                root.right = deleteRec(root.right, data);
-            else {
-                // Node with one child or no child
-                if (root.left == null)
-                    return root.right;
-                else if (root.right == null)
-                    return root.left;
-                
-                // Node with two children
-                root.data = minValue(root.right);
-                root.right = deleteRec(root.right, root.data);
+            // Node with two children: take the in-order successor's value,
+            // then remove the successor, which has no left child
+            if (node.left != null && node.right != null) {
+                Node successorParent = node;
+                Node successor = node.right;
+                while (successor.left != null) {
+                    successorParent = successor;
+                    successor = successor.left;
+                }
+                node.data = successor.data;
+                parent = successorParent;
+                node = successor;
             }
             
-            return root;
+            // Node with one child or no child
+            Node child = (node.left != null) ? node.left : node.right;
+            if (parent == null)
+                root = child;
+            else if (parent.left == node)
+                parent.left = child;
+            else
+                parent.right = child;
         }
         
-        private int minValue(Node root) {
-            int minValue = root.data;
-            while (root.left != null) {
-                minValue = root.left.data;
-                root = root.left;
+        // All keys in ascending order (iterative in-order walk)
+        public int[] toSortedArray() {
+            int[] keys = new int[16];
+            int n = 0;
+            Node[] stack = new Node[16];
+            int top = 0;
+            Node node = root;
+            while (node != null || top > 0) {
+                while (node != null) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = node;
+                    node = node.left;
+                }
+                node = stack[--top];
+                if (n == keys.length) {
+                    keys = Arrays.copyOf(keys, n * 2);
+                }
+                keys[n++] = node.data;
+                node = node.right;
             }
-            return minValue;
+            return Arrays.copyOf(keys, n);
         }
         
-        // In-order traversal
+        // In-order traversal (through the iterative toSortedArray walk)
         public void inOrderTraversal() {
-            inOrderTraversal(root);
+            for (int key : toSortedArray()) {
+                System.out.print(key + " ");
+            }
             System.out.println();
         }
         
-        private void inOrderTraversal(Node root) {
-            if (root != null) {
-                inOrderTraversal(root.left);
-                System.out.print(root.data + " ");
-                inOrderTraversal(root.right);
+        // Lookups on the same keys: pointer-chasing BST, binary search on the
+        // sorted array, Eytzinger layout and static B+-tree
+        private static void benchmarkLookups(int n, int queries) {
+            Random random = new Random(42);
+            BinarySearchTree tree = new BinarySearchTree();
+            for (int i = 0; i < n; i++) {
+                tree.insert(random.nextInt(4 * n)); // random order keeps the BST shallow
+            }
+            int[] sorted = tree.toSortedArray();
+            EytzingerIndex eytzinger = new EytzingerIndex(sorted);
+            StaticBPlusTree bPlusTree = new StaticBPlusTree(sorted);
+            int[] probes = new int[queries];
+            for (int i = 0; i < queries; i++) {
+                probes[i] = random.nextInt(4 * n);
+            }
+
+            System.out.println(sorted.length + " keys, " + queries + " lookups:");
+            for (int run = 0; run < 3; run++) {
+                int hits = 0;
+                long start = System.nanoTime();
+                for (int x : probes) {
+                    hits += tree.search(x) ? 1 : 0;
+                }
+                long treeTime = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int x : probes) {
+                    hits += Arrays.binarySearch(sorted, x) >= 0 ? 1 : 0;
+                }
+                long binaryTime = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int x : probes) {
+                    hits += eytzinger.contains(x) ? 1 : 0;
+                }
+                long eytzingerTime = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int x : probes) {
+                    hits += bPlusTree.contains(x) ? 1 : 0;
+                }
+                long bPlusTime = System.nanoTime() - start;
+
+                System.out.printf("  run %d: BST %.1f, binary search %.1f, Eytzinger %.1f, B+-tree %.1f ns/lookup (%d hits each)%n",
+                        run + 1, (double) treeTime / queries, (double) binaryTime / queries,
+                        (double) eytzingerTime / queries, (double) bPlusTime / queries, hits / 4);
             }
         }
-        
+
         // Main method to test the BST
         public static void main(String[] args) {
             BinarySearchTree tree = new BinarySearchTree();
@@ -127,6 +203,174 @@ public class code {
             tree.delete(40);
             System.out.println("Inorder traversal after deletion:");
             tree.inOrderTraversal();
+
+            // Read-only lookups: freeze the contents into array layouts
+            int[] keys = tree.toSortedArray();
+            EytzingerIndex eytzinger = new EytzingerIndex(keys);
+            StaticBPlusTree bPlusTree = new StaticBPlusTree(keys);
+            System.out.println("Eytzinger layout: " + eytzinger);
+            System.out.println("Contains 60: " + eytzinger.contains(60) + " / " + bPlusTree.contains(60)
+                    + ", contains 40: " + eytzinger.contains(40) + " / " + bPlusTree.contains(40));
+            System.out.println("Smallest key >= 45: " + eytzinger.ceiling(45));
+
+            // Pass a key count (e.g. 1000000) to run the lookup benchmark
+            if (args.length > 0) {
+                System.out.println();
+                benchmarkLookups(Integer.parseInt(args[0]), 5_000_000);
+            }
+        }
+    }
+
+    // Static search index in Eytzinger (BFS) layout: the sorted keys are
+    // stored in the order of a breadth-first walk of a complete BST, so node
+    // k has its children at 2k and 2k + 1. The first levels of every search
+    // share the same few cache lines, the next node's address depends only on
+    // one comparison (no pointers to load), and the comparison result is
+    // added to the index instead of branched on, so the loop has no
+    // unpredictable branch. Java cannot issue prefetch instructions; the
+    // children of nearby nodes are adjacent, which the hardware prefetcher
+    // picks up instead.
+    static class EytzingerIndex {
+        private final int[] layout; // 1-based, layout[0] unused
+        private final int n;
+
+        // keys must be sorted ascending without duplicates
+        public EytzingerIndex(int[] sorted) {
+            n = sorted.length;
+            layout = new int[n + 1];
+            fill(sorted, 0, 1);
+        }
+
+        // In-order walk of the implicit tree assigns sorted keys to slots
+        private int fill(int[] sorted, int i, int k) {
+            if (k <= n) {
+                i = fill(sorted, i, 2 * k);
+                layout[k] = sorted[i++];
+                i = fill(sorted, i, 2 * k + 1);
+            }
+            return i;
+        }
+
+        // Slot of the smallest key >= x, or 0 if every key is smaller.
+        // The descent records "went right" as trailing 1 bits of k; the
+        // answer is the last node where the search went left.
+        private int lowerBound(int x) {
+            int k = 1;
+            while (k <= n) {
+                k = 2 * k + (layout[k] < x ? 1 : 0);
+            }
+            return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+        }
+
+        /**
+         * Time Complexity: O(log n) with no data-dependent branches
+         */
+        public boolean contains(int x) {
+            int k = lowerBound(x);
+            return k != 0 && layout[k] == x;
+        }
+
+        // Smallest key >= x
+        public int ceiling(int x) {
+            int k = lowerBound(x);
+            if (k == 0) {
+                throw new NoSuchElementException("No key >= " + x);
+            }
+            return layout[k];
+        }
+
+        public int size() {
+            return n;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(Arrays.copyOfRange(layout, 1, n + 1));
+        }
+    }
+
+    // Static B+-tree ("S+-tree") with B = 16 keys per node, i.e. one 64-byte
+    // cache line. Leaves hold the sorted keys in blocks of B; each internal
+    // node has B + 1 children and key i is the smallest key under child
+    // i + 1. Nodes are found by arithmetic (child j of node k is node
+    // k * (B + 1) + j of the layer below), and inside a node the search
+    // counts keys < x over all B slots instead of stopping early, a fixed
+    // loop the JIT can unroll. log_17(n) cache lines per lookup instead of
+    // log_2(n).
+    static class StaticBPlusTree {
+        private static final int B = 16;
+        private final int[] tree;        // all layers, root layer first
+        private final int[] layerOffset; // start of each layer; the last one is the leaves
+        private final int n;
+
+        // keys must be sorted ascending without duplicates
+        public StaticBPlusTree(int[] sorted) {
+            n = sorted.length;
+            int leafBlocks = Math.max((n + B - 1) / B, 1);
+
+            // Block counts per layer, leaves first
+            int[] blocks = new int[32];
+            int layers = 0;
+            blocks[layers++] = leafBlocks;
+            while (blocks[layers - 1] > 1) {
+                blocks[layers] = (blocks[layers - 1] + B) / (B + 1);
+                layers++;
+            }
+
+            layerOffset = new int[layers];
+            int total = 0;
+            for (int h = layers - 1; h >= 0; h--) {
+                layerOffset[layers - 1 - h] = total;
+                total += blocks[h] * B;
+            }
+            tree = new int[total];
+            Arrays.fill(tree, Integer.MAX_VALUE);
+
+            int leaves = layerOffset[layers - 1];
+            System.arraycopy(sorted, 0, tree, leaves, n);
+
+            // Internal layers, bottom-up: key i of node k = first leaf key of
+            // child i + 1, found by always taking child 0 down to the leaves
+            for (int h = 1; h < layers; h++) {
+                int offset = layerOffset[layers - 1 - h];
+                for (int k = 0; k < blocks[h]; k++) {
+                    for (int i = 0; i < B; i++) {
+                        long child = (long) k * (B + 1) + i + 1;
+                        for (int down = 1; down < h; down++) {
+                            child *= B + 1;
+                        }
+                        if (child < leafBlocks) {
+                            tree[offset + k * B + i] = tree[leaves + (int) child * B];
+                        }
+                    }
+                }
+            }
+        }
+
+        // Number of keys in node slots [from, from + B) that are < x
+        private int rankInNode(int from, int x) {
+            int count = 0;
+            for (int i = 0; i < B; i++) {
+                count += tree[from + i] < x ? 1 : 0;
+            }
+            return count;
+        }
+
+        /**
+         * Time Complexity: O(B * log_{B+1} n), one cache line per level
+         */
+        public boolean contains(int x) {
+            int k = 0;
+            int last = layerOffset.length - 1;
+            for (int h = 0; h < last; h++) {
+                k = k * (B + 1) + rankInNode(layerOffset[h] + k * B, x);
+            }
+            int position = k * B + rankInNode(layerOffset[last] + k * B, x);
+            return position < n && tree[layerOffset[last] + position] == x;
+        }
+
+        public int size() {
+            return n;
         }
     }
 }
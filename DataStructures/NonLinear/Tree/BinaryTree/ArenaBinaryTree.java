@@ -0,0 +1,447 @@
+package DataStructures.NonLinear.Tree.BinaryTree;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Binary search tree whose nodes live in an arena of primitive int arrays
+ * instead of one heap object per node
+ *
+ * A node is a slot of four ints in one array: key, left, right and
+ * height, so visiting a node touches a single cache line. Nodes are
+ * referred to by the offset of their slot; offset 0 is the null node
+ * (height 0), so child links are plain ints. Deleted slots go on a free
+ * list threaded through the left field and are reused by later inserts.
+ *
+ * An int array holds no references, so the garbage collector never traces
+ * individual nodes: a tree of hundreds of millions of keys is one large
+ * object to the GC, against one object per node for BinaryTree. Each node
+ * costs 16 bytes instead of about 32.
+ *
+ * Same operations as BinaryTree and BinarySearchTree, kept balanced with
+ * the AVL rule, and every operation is iterative.
+ *
+ * Presize large trees with ArenaBinaryTree(capacity). Without it the arena
+ * doubles when full, and each doubling briefly needs the old array plus a
+ * new contiguous one twice its size. At hundreds of millions of nodes that
+ * is gigabytes of extra heap, and the allocation may fail.
+ */
+public class ArenaBinaryTree {
+    private static final int NIL = 0;
+    // Field offsets within a node slot
+    private static final int KEY = 0, LEFT = 1, RIGHT = 2, HEIGHT = 3;
+    private static final int NODE_INTS = 4;
+    private static final int MAX_CAPACITY = (Integer.MAX_VALUE - 8) / NODE_INTS - 1;
+    private static final int MAX_HEIGHT = 64; // AVL height for 2^31 keys is below 46
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] nodes;         // NODE_INTS ints per node; LEFT also links the free list
+    private int root = NIL;
+    private int size;
+    private int end = NODE_INTS; // offset of the first never-used slot, slot 0 is NIL
+    private int freeList = NIL;  // most recently freed slot
+    private final int[] path = new int[MAX_HEIGHT];
+
+    public ArenaBinaryTree() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // Reserve room for capacity nodes up front, so building a huge tree
+    // does not copy (and temporarily double) the arena while it grows
+    public ArenaBinaryTree(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        nodes = new int[(capacity + 1) * NODE_INTS];
+    }
+
+    // Take a slot from the free list, or the next unused one
+    private int allocate(int data) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = nodes[node + LEFT];
+        } else {
+            if (end == nodes.length) {
+                grow();
+            }
+            node = end;
+            end += NODE_INTS;
+        }
+        nodes[node + KEY] = data;
+        nodes[node + LEFT] = nodes[node + RIGHT] = NIL;
+        nodes[node + HEIGHT] = 1;
+        return node;
+    }
+
+    private void release(int node) {
+        nodes[node + LEFT] = freeList;
+        freeList = node;
+    }
+
+    // Doubles the arena: old and new arrays coexist during the copy
+    private void grow() {
+        int slots = nodes.length / NODE_INTS;
+        int newSlots = (int) Math.min((long) slots * 2, MAX_CAPACITY + 1);
+        if (newSlots == slots) {
+            throw new IllegalStateException("Arena is full");
+        }
+        nodes = Arrays.copyOf(nodes, newSlots * NODE_INTS);
+    }
+
+    private void update(int node) {
+        nodes[node + HEIGHT] = Math.max(nodes[nodes[node + LEFT] + HEIGHT], nodes[nodes[node + RIGHT] + HEIGHT]) + 1;
+    }
+
+    private int balance(int node) {
+        return nodes[nodes[node + LEFT] + HEIGHT] - nodes[nodes[node + RIGHT] + HEIGHT];
+    }
+
+    private int rightRotate(int y) {
+        int x = nodes[y + LEFT];
+        nodes[y + LEFT] = nodes[x + RIGHT];
+        nodes[x + RIGHT] = y;
+        update(y);
+        update(x);
+        return x;
+    }
+
+    private int leftRotate(int x) {
+        int y = nodes[x + RIGHT];
+        nodes[x + RIGHT] = nodes[y + LEFT];
+        nodes[y + LEFT] = x;
+        update(x);
+        update(y);
+        return y;
+    }
+
+    private int rebalance(int node) {
+        update(node);
+        int balance = balance(node);
+        if (balance > 1) {
+            if (balance(nodes[node + LEFT]) < 0) {
+                nodes[node + LEFT] = leftRotate(nodes[node + LEFT]);
+            }
+            return rightRotate(node);
+        }
+        if (balance < -1) {
+            if (balance(nodes[node + RIGHT]) > 0) {
+                nodes[node + RIGHT] = rightRotate(nodes[node + RIGHT]);
+            }
+            return leftRotate(node);
+        }
+        return node;
+    }
+
+    // Rebalance path[0..depth) bottom-up, re-linking each new subtree root
+    private void rebalancePath(int depth) {
+        int child = NIL;
+        for (int i = depth - 1; i >= 0; i--) {
+            int node = path[i];
+            if (child != NIL) {
+                if (nodes[child + KEY] < nodes[node + KEY]) {
+                    nodes[node + LEFT] = child;
+                } else {
+                    nodes[node + RIGHT] = child;
+                }
+            }
+            child = rebalance(node);
+        }
+        root = child;
+    }
+
+    /**
+     * Insert a new key; duplicates are ignored
+     * Time Complexity: O(log n)
+     */
+    public void insert(int data) {
+        if (root == NIL) {
+            root = allocate(data);
+            size = 1;
+            return;
+        }
+        int depth = 0;
+        int node = root;
+        while (node != NIL) {
+            if (data == nodes[node + KEY]) {
+                return;
+            }
+            path[depth++] = node;
+            node = data < nodes[node + KEY] ? nodes[node + LEFT] : nodes[node + RIGHT];
+        }
+        int parent = path[depth - 1];
+        int child = allocate(data);
+        if (data < nodes[parent + KEY]) {
+            nodes[parent + LEFT] = child;
+        } else {
+            nodes[parent + RIGHT] = child;
+        }
+        size++;
+        rebalancePath(depth);
+    }
+
+    /**
+     * Delete a key; its slot goes back on the free list
+     * Time Complexity: O(log n)
+     */
+    public void delete(int data) {
+        int depth = 0;
+        int node = root;
+        while (node != NIL && nodes[node + KEY] != data) {
+            path[depth++] = node;
+            node = data < nodes[node + KEY] ? nodes[node + LEFT] : nodes[node + RIGHT];
+        }
+        if (node == NIL) {
+            return;
+        }
+        size--;
+
+        if (nodes[node + LEFT] != NIL && nodes[node + RIGHT] != NIL) {
+            // Two children: copy the in-order successor's key, unlink it
+            path[depth++] = node;
+            int parentDepth = depth;
+            int successor = nodes[node + RIGHT];
+            while (nodes[successor + LEFT] != NIL) {
+                path[depth++] = successor;
+                successor = nodes[successor + LEFT];
+            }
+            nodes[node + KEY] = nodes[successor + KEY];
+            if (depth == parentDepth) {
+                nodes[node + RIGHT] = nodes[successor + RIGHT];
+            } else {
+                nodes[path[depth - 1] + LEFT] = nodes[successor + RIGHT];
+            }
+            release(successor);
+            rebalancePath(depth);
+            return;
+        }
+
+        int replacement = nodes[node + LEFT] != NIL ? nodes[node + LEFT] : nodes[node + RIGHT];
+        release(node);
+        if (depth == 0) {
+            root = replacement;
+            return;
+        }
+        int parent = path[depth - 1];
+        if (nodes[parent + LEFT] == node) {
+            nodes[parent + LEFT] = replacement;
+        } else {
+            nodes[parent + RIGHT] = replacement;
+        }
+        rebalancePath(depth);
+    }
+
+    // Search for a key
+    public boolean search(int data) {
+        int node = root;
+        while (node != NIL) {
+            if (nodes[node + KEY] == data) {
+                return true;
+            }
+            node = data < nodes[node + KEY] ? nodes[node + LEFT] : nodes[node + RIGHT];
+        }
+        return false;
+    }
+
+    public int height() {
+        return nodes[root + HEIGHT];
+    }
+
+    public int countNodes() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return root == NIL;
+    }
+
+    // Slots allocated in the arena, including free ones waiting for reuse
+    public int capacityUsed() {
+        return end / NODE_INTS - 1;
+    }
+
+    // Inorder traversal (Left, Root, Right) with an explicit stack
+    public void inOrder(IntConsumer action) {
+        int[] stack = new int[nodes[root + HEIGHT]];
+        int top = 0;
+        int node = root;
+        while (node != NIL || top > 0) {
+            while (node != NIL) {
+                stack[top++] = node;
+                node = nodes[node + LEFT];
+            }
+            node = stack[--top];
+            action.accept(nodes[node + KEY]);
+            node = nodes[node + RIGHT];
+        }
+    }
+
+    // Preorder traversal (Root, Left, Right)
+    public void preOrder(IntConsumer action) {
+        if (root == NIL) {
+            return;
+        }
+        int[] stack = new int[nodes[root + HEIGHT] + 1];
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            action.accept(nodes[node + KEY]);
+            if (nodes[node + RIGHT] != NIL) {
+                stack[top++] = nodes[node + RIGHT];
+            }
+            if (nodes[node + LEFT] != NIL) {
+                stack[top++] = nodes[node + LEFT];
+            }
+        }
+    }
+
+    // Postorder traversal (Left, Right, Root): a node is emitted once its
+    // right subtree is done, i.e. when we come back up from its right child
+    public void postOrder(IntConsumer action) {
+        int[] stack = new int[nodes[root + HEIGHT]];
+        int top = 0;
+        int node = root;
+        int lastVisited = NIL;
+        while (node != NIL || top > 0) {
+            if (node != NIL) {
+                stack[top++] = node;
+                node = nodes[node + LEFT];
+            } else {
+                int peek = stack[top - 1];
+                if (nodes[peek + RIGHT] != NIL && nodes[peek + RIGHT] != lastVisited) {
+                    node = nodes[peek + RIGHT];
+                } else {
+                    action.accept(nodes[peek + KEY]);
+                    lastVisited = peek;
+                    top--;
+                }
+            }
+        }
+    }
+
+    // Level order traversal (Breadth-First); every node is queued once, so
+    // an int array of size n is the whole queue
+    public void levelOrder(IntConsumer action) {
+        if (root == NIL) {
+            return;
+        }
+        int[] queue = new int[size];
+        int head = 0, tail = 0;
+        queue[tail++] = root;
+        while (head < tail) {
+            int node = queue[head++];
+            action.accept(nodes[node + KEY]);
+            if (nodes[node + LEFT] != NIL) {
+                queue[tail++] = nodes[node + LEFT];
+            }
+            if (nodes[node + RIGHT] != NIL) {
+                queue[tail++] = nodes[node + RIGHT];
+            }
+        }
+    }
+
+    public void inOrder() {
+        System.out.print("InOrder: ");
+        inOrder(value -> System.out.print(value + " "));
+        System.out.println();
+    }
+
+    public void preOrder() {
+        System.out.print("PreOrder: ");
+        preOrder(value -> System.out.print(value + " "));
+        System.out.println();
+    }
+
+    public void postOrder() {
+        System.out.print("PostOrder: ");
+        postOrder(value -> System.out.print(value + " "));
+        System.out.println();
+    }
+
+    public void levelOrder() {
+        System.out.print("Level Order: ");
+        levelOrder(value -> System.out.print(value + " "));
+        System.out.println();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Full GC time with the tree alive
+    private static long gcMillis() {
+        long start = System.nanoTime();
+        System.gc();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    // Heap footprint and full-GC pause with n keys held by BinaryTree
+    // (one object per node) and by the arena
+    private static void benchmark(int n) {
+        Random random = new Random(42);
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt();
+        }
+
+        long before = usedHeap();
+        BinaryTree objects = new BinaryTree();
+        long start = System.nanoTime();
+        for (int k : keys) {
+            objects.insert(k); // random order keeps the unbalanced tree shallow enough
+        }
+        long objectBuild = System.nanoTime() - start;
+        long objectBytes = usedHeap() - before;
+        long objectGc = gcMillis();
+        System.out.printf("BinaryTree:      %,d nodes, %d MB, build %d ms, full GC %d ms%n",
+                objects.countNodes(), objectBytes >> 20, objectBuild / 1_000_000, objectGc);
+        objects = null;
+
+        before = usedHeap();
+        ArenaBinaryTree arena = new ArenaBinaryTree(n);
+        start = System.nanoTime();
+        for (int k : keys) {
+            arena.insert(k);
+        }
+        long arenaBuild = System.nanoTime() - start;
+        long arenaBytes = usedHeap() - before;
+        long arenaGc = gcMillis();
+        System.out.printf("ArenaBinaryTree: %,d nodes, %d MB, build %d ms, full GC %d ms%n",
+                arena.countNodes(), arenaBytes >> 20, arenaBuild / 1_000_000, arenaGc);
+    }
+
+    public static void main(String[] args) {
+        ArenaBinaryTree tree = new ArenaBinaryTree();
+        int[] values = {50, 30, 20, 40, 70, 60, 80};
+        for (int value : values) {
+            tree.insert(value);
+        }
+
+        System.out.println("Arena Binary Tree Operations:");
+        System.out.println("Tree height: " + tree.height());
+        System.out.println("Total nodes: " + tree.countNodes());
+        tree.inOrder();
+        tree.preOrder();
+        tree.postOrder();
+        tree.levelOrder();
+        System.out.println("Search 40: " + tree.search(40));
+
+        tree.delete(20);
+        tree.delete(50);
+        tree.insert(65);
+        tree.insert(10);
+        System.out.println("\nAfter deleting 20 and 50, inserting 65 and 10:");
+        tree.inOrder();
+        System.out.println("Slots allocated: " + tree.capacityUsed() + " (freed slots were reused)");
+
+        // Pass a key count (e.g. 5000000) to compare memory and GC pauses
+        if (args.length > 0) {
+            System.out.println("\nMemory and GC:");
+            benchmark(Integer.parseInt(args[0]));
+        }
+    }
+}
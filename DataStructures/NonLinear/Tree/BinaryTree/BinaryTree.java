@@ -1,5 +1,15 @@
 package DataStructures.NonLinear.Tree.BinaryTree;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
 public class BinaryTree {
     // Node class for Binary Tree
     class Node {
@@ -79,51 +89,30 @@ public class BinaryTree {
         return minValue;
     }
 
+    // The printing traversals go through the iterative streams below, so
+    // deep (skewed) trees cannot overflow the stack
+
     // Inorder traversal (Left, Root, Right)
     public void inOrder() {
         System.out.print("InOrder: ");
-        inOrderRec(root);
+        inOrderStream().forEachOrdered(value -> System.out.print(value + " "));
         System.out.println();
     }
 
-    private void inOrderRec(Node root) {
-        if (root != null) {
-            inOrderRec(root.left);
-            System.out.print(root.data + " ");
-            inOrderRec(root.right);
-        }
-    }
-
     // Preorder traversal (Root, Left, Right)
     public void preOrder() {
         System.out.print("PreOrder: ");
-        preOrderRec(root);
+        preOrderStream().forEachOrdered(value -> System.out.print(value + " "));
         System.out.println();
     }
 
-    private void preOrderRec(Node root) {
-        if (root != null) {
-            System.out.print(root.data + " ");
-            preOrderRec(root.left);
-            preOrderRec(root.right);
-        }
-    }
-
     // Postorder traversal (Left, Right, Root)
     public void postOrder() {
         System.out.print("PostOrder: ");
-        postOrderRec(root);
+        postOrderStream().forEachOrdered(value -> System.out.print(value + " "));
         System.out.println();
     }
 
-    private void postOrderRec(Node root) {
-        if (root != null) {
-            postOrderRec(root.left);
-            postOrderRec(root.right);
-            System.out.print(root.data + " ");
-        }
-    }
-
     // Search for a key
     public boolean search(int key) {
         return searchRec(root, key);
@@ -139,27 +128,94 @@ public class BinaryTree {
     }
 
     // Calculate height of the tree
+    // Fork-join reduction: the top levels run as parallel tasks, each
+    // subtree below them is measured iteratively, so deep (skewed) trees
+    // cannot overflow the stack
     public int height() {
-        return heightRec(root);
+        return root == null ? 0 : ForkJoinPool.commonPool().invoke(new HeightTask(root, 0));
     }
 
-    private int heightRec(Node root) {
-        if (root == null) return 0;
-        
-        int leftHeight = heightRec(root.left);
-        int rightHeight = heightRec(root.right);
-        
-        return Math.max(leftHeight, rightHeight) + 1;
+    // Count total nodes, same fork-join scheme as height()
+    public int countNodes() {
+        return root == null ? 0 : ForkJoinPool.commonPool().invoke(new CountTask(root, 0));
     }
 
-    // Count total nodes
-    public int countNodes() {
-        return countNodesRec(root);
+    // Subtrees are forked down to this depth (up to 2^PARALLEL_DEPTH tasks)
+    private static final int PARALLEL_DEPTH = 6;
+
+    private static class HeightTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final Node node;
+        private final int depth;
+
+        HeightTask(Node node, int depth) {
+            this.node = node;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (depth >= PARALLEL_DEPTH || node.left == null || node.right == null) {
+                return heightIterative(node);
+            }
+            HeightTask left = new HeightTask(node.left, depth + 1);
+            left.fork();
+            int rightHeight = new HeightTask(node.right, depth + 1).compute();
+            return Math.max(left.join(), rightHeight) + 1;
+        }
+    }
+
+    private static class CountTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final Node node;
+        private final int depth;
+
+        CountTask(Node node, int depth) {
+            this.node = node;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (depth >= PARALLEL_DEPTH || node.left == null || node.right == null) {
+                return countIterative(node);
+            }
+            CountTask left = new CountTask(node.left, depth + 1);
+            left.fork();
+            int rightCount = new CountTask(node.right, depth + 1).compute();
+            return left.join() + rightCount + 1;
+        }
+    }
+
+    // Height by walking the subtree level by level
+    private static int heightIterative(Node node) {
+        ArrayDeque<Node> level = new ArrayDeque<>();
+        level.add(node);
+        int height = 0;
+        while (!level.isEmpty()) {
+            height++;
+            for (int i = level.size(); i > 0; i--) {
+                Node current = level.poll();
+                if (current.left != null) level.add(current.left);
+                if (current.right != null) level.add(current.right);
+            }
+        }
+        return height;
     }
 
-    private int countNodesRec(Node root) {
-        if (root == null) return 0;
-        return 1 + countNodesRec(root.left) + countNodesRec(root.right);
+    private static int countIterative(Node node) {
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        stack.push(node);
+        int count = 0;
+        while (!stack.isEmpty()) {
+            Node current = stack.pop();
+            count++;
+            if (current.left != null) stack.push(current.left);
+            if (current.right != null) stack.push(current.right);
+        }
+        return count;
     }
 
     // Check if tree is empty
@@ -187,6 +243,241 @@ public class BinaryTree {
         System.out.println();
     }
 
+    // Lazy traversals as IntStreams. The depth-first ones are backed by
+    // TraversalSpliterator, which splits at subtrees, so .parallel() spreads
+    // the work over the fork-join pool while keeping encounter order.
+    public IntStream inOrderStream() {
+        return StreamSupport.intStream(new TraversalSpliterator(root, TraversalSpliterator.IN_ORDER), false);
+    }
+
+    public IntStream preOrderStream() {
+        return StreamSupport.intStream(new TraversalSpliterator(root, TraversalSpliterator.PRE_ORDER), false);
+    }
+
+    public IntStream postOrderStream() {
+        return StreamSupport.intStream(new TraversalSpliterator(root, TraversalSpliterator.POST_ORDER), false);
+    }
+
+    // Level order does not split into independent subtrees (every level
+    // interleaves all of them), so this stream is produced sequentially
+    public IntStream levelOrderStream() {
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        if (root != null) {
+            queue.add(root);
+        }
+        Spliterator.OfInt spliterator = new Spliterator.OfInt() {
+            @Override
+            public boolean tryAdvance(IntConsumer action) {
+                Node current = queue.poll();
+                if (current == null) {
+                    return false;
+                }
+                if (current.left != null) queue.add(current.left);
+                if (current.right != null) queue.add(current.right);
+                action.accept(current.data);
+                return true;
+            }
+
+            @Override
+            public Spliterator.OfInt trySplit() {
+                return null;
+            }
+
+            @Override
+            public long estimateSize() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public int characteristics() {
+                return ORDERED | NONNULL;
+            }
+        };
+        return StreamSupport.intStream(spliterator, false);
+    }
+
+    /**
+     * Depth-first traversal driven by a deque of pending work, front first.
+     * Each entry is a subtree still to expand or a single node to emit;
+     * expanding a subtree replaces it with its parts in traversal order
+     * (in-order: left, node, right). trySplit hands every entry but the
+     * last to a new spliterator (the prefix, as ORDERED requires) and keeps
+     * the last one, which is usually the largest subtree.
+     */
+    private static class TraversalSpliterator implements Spliterator.OfInt {
+        static final int IN_ORDER = 0, PRE_ORDER = 1, POST_ORDER = 2;
+
+        private final int order;
+        private final ArrayDeque<Node> nodes = new ArrayDeque<>();
+        private final ArrayDeque<Boolean> expand = new ArrayDeque<>(); // true: subtree, false: emit node
+        private long estimate;
+
+        TraversalSpliterator(Node root, int order) {
+            this.order = order;
+            this.estimate = Long.MAX_VALUE;
+            if (root != null) {
+                nodes.add(root);
+                expand.add(true);
+            }
+        }
+
+        private TraversalSpliterator(int order, long estimate) {
+            this.order = order;
+            this.estimate = estimate;
+        }
+
+        // Replace the subtree at the front with its parts, in order
+        private void expandFront() {
+            Node node = nodes.poll();
+            expand.poll();
+            // Pushed in reverse, since each push goes to the front
+            switch (order) {
+                case IN_ORDER:
+                    pushFront(node.right, true);
+                    pushFront(node, false);
+                    pushFront(node.left, true);
+                    break;
+                case PRE_ORDER:
+                    pushFront(node.right, true);
+                    pushFront(node.left, true);
+                    pushFront(node, false);
+                    break;
+                default:
+                    pushFront(node, false);
+                    pushFront(node.right, true);
+                    pushFront(node.left, true);
+                    break;
+            }
+        }
+
+        private void pushFront(Node node, boolean isSubtree) {
+            if (node != null) {
+                nodes.push(node);
+                expand.push(isSubtree);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            while (!nodes.isEmpty()) {
+                if (expand.peek()) {
+                    expandFront();
+                } else {
+                    expand.poll();
+                    action.accept(nodes.poll().data);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            // A single subtree is opened up first so there is something to split
+            while (nodes.size() == 1 && expand.peek()) {
+                expandFront();
+            }
+            if (nodes.size() < 2) {
+                return null;
+            }
+            TraversalSpliterator prefix = new TraversalSpliterator(order, estimate >>>= 1);
+            while (nodes.size() > 1) {
+                prefix.nodes.add(nodes.poll());
+                prefix.expand.add(expand.poll());
+            }
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+    }
+
+    /**
+     * Morris in-order traversal: O(1) extra space, no stack and no recursion.
+     * Before descending into a left subtree, the subtree's rightmost node
+     * gets a temporary right link back to the current node (a thread), which
+     * replaces the stack; the second visit removes it again. The tree must
+     * not be modified by action. If action throws, the walk still runs to
+     * the end without calling it, so every thread is removed.
+     */
+    public void inOrderMorris(IntConsumer action) {
+        Node current = root;
+        try {
+            while (current != null) {
+                current = morrisStep(current, action);
+            }
+        } finally {
+            // Only non-null if action threw (any Throwable): finish the walk
+            // without it, so every thread is removed before unwinding
+            while (current != null) {
+                current = morrisStep(current, null);
+            }
+        }
+    }
+
+    // One Morris step from current; returns the next node to visit. If
+    // action throws, current has not moved on, and repeating the step from
+    // it stays correct (it may only walk a left subtree again)
+    private static Node morrisStep(Node current, IntConsumer action) {
+        if (current.left == null) {
+            if (action != null) action.accept(current.data);
+            return current.right;
+        }
+        Node predecessor = current.left;
+        while (predecessor.right != null && predecessor.right != current) {
+            predecessor = predecessor.right;
+        }
+        if (predecessor.right == null) {
+            predecessor.right = current; // thread back to current
+            return current.left;
+        }
+        predecessor.right = null;        // left subtree done, remove thread
+        if (action != null) action.accept(current.data);
+        return current.right;
+    }
+
+    // Reductions over a larger random tree: sequential vs parallel streams,
+    // Morris traversal, and the fork-join height/countNodes
+    private static void benchmark(int n) {
+        Random random = new Random(42);
+        BinaryTree tree = new BinaryTree();
+        for (int i = 0; i < n; i++) {
+            tree.insert(random.nextInt());
+        }
+
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            long sequential = tree.inOrderStream().asLongStream().map(v -> v % 1000).sum();
+            long sequentialTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long parallel = tree.inOrderStream().parallel().asLongStream().map(v -> v % 1000).sum();
+            long parallelTime = System.nanoTime() - start;
+
+            long[] morris = new long[1];
+            start = System.nanoTime();
+            tree.inOrderMorris(v -> morris[0] += v % 1000);
+            long morrisTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int height = tree.height();
+            int count = tree.countNodes();
+            long reduceTime = System.nanoTime() - start;
+
+            System.out.printf("Run %d: stream %d ms, parallel stream %d ms, Morris %d ms (sums equal: %b), "
+                            + "height %d + countNodes %d in %d ms%n",
+                    run + 1, sequentialTime / 1_000_000, parallelTime / 1_000_000, morrisTime / 1_000_000,
+                    sequential == parallel && parallel == morris[0], height, count, reduceTime / 1_000_000);
+        }
+    }
+
     // Main method for testing
     public static void main(String[] args) {
         BinaryTree tree = new BinaryTree();
@@ -226,5 +517,24 @@ public class BinaryTree {
         System.out.println("After deleting 50:");
         tree.delete(50);
         tree.inOrder();
+
+        // Streaming traversals
+        for (int value : new int[]{50, 30, 20, 40, 65, 75, 85}) {
+            tree.insert(value);
+        }
+        System.out.println("\nInOrder stream:     " + Arrays.toString(tree.inOrderStream().toArray()));
+        System.out.println("PreOrder stream:    " + Arrays.toString(tree.preOrderStream().toArray()));
+        System.out.println("PostOrder stream:   " + Arrays.toString(tree.postOrderStream().toArray()));
+        System.out.println("LevelOrder stream:  " + Arrays.toString(tree.levelOrderStream().toArray()));
+        System.out.println("Parallel in-order:  " + Arrays.toString(tree.inOrderStream().parallel().toArray()));
+        System.out.print("Morris in-order:    ");
+        tree.inOrderMorris(value -> System.out.print(value + " "));
+        System.out.println();
+
+        // Pass a node count (e.g. 1000000) to time the traversals on a large tree
+        if (args.length > 0) {
+            System.out.println("\nLarge tree (" + ForkJoinPool.commonPool().getParallelism() + " worker threads):");
+            benchmark(Integer.parseInt(args[0]));
+        }
     }
 }
\ No newline at end of file
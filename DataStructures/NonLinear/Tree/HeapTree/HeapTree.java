@@ -6,11 +6,14 @@ import java.util.NoSuchElementException;
 /**
  * Complete Binary Heap implementation supporting both Min Heap and Max Heap
  * Uses array-based representation for efficient storage and operations
+ * The number of children per node (arity) can be raised to 4 or 8 at
+ * construction, giving a shallower d-ary heap that touches fewer cache lines
  */
 public class HeapTree {
     private int[] heap;
     private int size;
-    private boolean isMinHeap;
+    private final boolean isMinHeap;
+    private final int arity;
     private static final int DEFAULT_CAPACITY = 16;
 
     // Constructors
@@ -27,20 +30,38 @@ public class HeapTree {
     }
 
     public HeapTree(int capacity, boolean isMinHeap) {
+        this(capacity, isMinHeap, 2);
+    }
+
+    // d-ary heap: every node has up to 'arity' children
+    public HeapTree(int capacity, boolean isMinHeap, int arity) {
         if (capacity <= 0) {
             throw new IllegalArgumentException("Capacity must be positive");
         }
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2");
+        }
         this.heap = new int[capacity];
         this.size = 0;
         this.isMinHeap = isMinHeap;
+        this.arity = arity;
     }
 
     // Build heap from array
     public HeapTree(int[] array, boolean isMinHeap) {
+        this(array, isMinHeap, 2);
+    }
+
+    // Build d-ary heap from array
+    public HeapTree(int[] array, boolean isMinHeap, int arity) {
         if (array == null) {
             throw new IllegalArgumentException("Array cannot be null");
         }
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2");
+        }
         this.isMinHeap = isMinHeap;
+        this.arity = arity;
         this.size = array.length;
         this.heap = new int[Math.max(array.length, DEFAULT_CAPACITY)];
         System.arraycopy(array, 0, this.heap, 0, array.length);
@@ -91,6 +112,7 @@ public class HeapTree {
     /**
      * Remove a specific element from the heap
      * Time Complexity: O(n) for finding + O(log n) for removal
+     * (see IndexedHeapTree for an O(log n) version keyed by handle)
      */
     public boolean remove(int value) {
         int index = findIndex(value);
@@ -181,19 +203,17 @@ public class HeapTree {
         return !isMinHeap;
     }
 
+    public int getArity() {
+        return arity;
+    }
+
     /**
      * Check if the heap property is maintained
      * Time Complexity: O(n)
      */
     public boolean isValidHeap() {
-        for (int i = 0; i < size; i++) {
-            int left = getLeftChildIndex(i);
-            int right = getRightChildIndex(i);
-            
-            if (left < size && !compare(heap[i], heap[left])) {
-                return false;
-            }
-            if (right < size && !compare(heap[i], heap[right])) {
+        for (int i = 1; i < size; i++) {
+            if (compare(heap[i], heap[getParentIndex(i)])) {
                 return false;
             }
         }
@@ -214,7 +234,7 @@ public class HeapTree {
      */
     public int[] heapSort() {
         int[] result = new int[size];
-        HeapTree tempHeap = new HeapTree(Arrays.copyOf(heap, size), isMinHeap);
+        HeapTree tempHeap = new HeapTree(Arrays.copyOf(heap, size), isMinHeap, arity);
         
         for (int i = 0; i < size; i++) {
             result[i] = tempHeap.extract();
@@ -242,71 +262,236 @@ public class HeapTree {
 
     /**
      * Get kth smallest/largest element without removing it
+     * Walks the heap by index with a frontier of slots, so repeated values
+     * are handled correctly. The frontier is allocated per call, so
+     * concurrent readers of an unmodified heap do not interfere
      * Time Complexity: O(k log k)
      */
     public int getKthElement(int k) {
+        checkK(k);
+        return getKthElement(k, new int[scratchSize(k)]);
+    }
+
+    /**
+     * Same as getKthElement(k), but uses the caller's scratch array
+     * (length >= scratchSize(k)) for the frontier, so repeated queries
+     * create no garbage. Each thread needs its own scratch array
+     */
+    public int getKthElement(int k, int[] scratch) {
+        checkK(k);
+        checkScratch(k, scratch);
+        return heap[walkFrontier(k, null, scratch)];
+    }
+
+    /**
+     * Copy the k smallest/largest elements into out[0..k-1] in sorted order
+     * (ascending for min-heap, descending for max-heap)
+     * The heap itself is not modified
+     * Time Complexity: O(k log k)
+     */
+    public void topK(int k, int[] out) {
+        checkK(k);
+        topK(k, out, new int[scratchSize(k)]);
+    }
+
+    // topK with a caller-provided frontier, see getKthElement(int, int[])
+    public void topK(int k, int[] out, int[] scratch) {
+        checkK(k);
+        if (out == null || out.length < k) {
+            throw new IllegalArgumentException("Output array must hold at least k elements");
+        }
+        checkScratch(k, scratch);
+        walkFrontier(k, out, scratch);
+    }
+
+    // Scratch length needed by getKthElement/topK for this k:
+    // each pop removes one slot and pushes at most 'arity' children
+    public int scratchSize(int k) {
+        return k * (arity - 1) + 1;
+    }
+
+    private void checkK(int k) {
         if (k <= 0 || k > size) {
             throw new IllegalArgumentException("Invalid k value");
         }
-        
-        // For finding kth element, we use a temporary heap
-        HeapTree tempHeap = new HeapTree(!isMinHeap);
-        tempHeap.insert(heap[0]);
-        
-        for (int i = 0; i < k - 1; i++) {
-            int index = tempHeap.findIndexInOriginal(tempHeap.peek());
-            tempHeap.extract();
-            
-            int left = getLeftChildIndex(index);
-            int right = getRightChildIndex(index);
-            
-            if (left < size) tempHeap.insert(heap[left]);
-            if (right < size) tempHeap.insert(heap[right]);
+    }
+
+    private void checkScratch(int k, int[] scratch) {
+        if (scratch == null || scratch.length < scratchSize(k)) {
+            throw new IllegalArgumentException("Scratch array must hold at least scratchSize(k) slots");
         }
-        
-        return tempHeap.peek();
     }
 
     // Private helper methods
+    /**
+     * Pop k slots from a small auxiliary heap of slot indices seeded with
+     * the root; every popped slot pushes its children. Returns the slot of
+     * the kth element and optionally records the popped values in out
+     */
+    private int walkFrontier(int k, int[] out, int[] frontier) {
+        int frontierSize = 1;
+        frontier[0] = 0;
+
+        int slot = 0;
+        for (int i = 0; i < k; i++) {
+            slot = frontier[0];
+            if (out != null) {
+                out[i] = heap[slot];
+            }
+            frontier[0] = frontier[--frontierSize];
+            frontierSiftDown(frontier, frontierSize);
+
+            int first = getFirstChildIndex(slot);
+            int last = Math.min(first + arity, size);
+            for (int child = first; child < last; child++) {
+                frontier[frontierSize] = child;
+                frontierSiftUp(frontier, frontierSize++);
+            }
+        }
+        return slot;
+    }
+
+    private void frontierSiftUp(int[] frontier, int index) {
+        int slot = frontier[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!compare(heap[slot], heap[frontier[parent]])) {
+                break;
+            }
+            frontier[index] = frontier[parent];
+            index = parent;
+        }
+        frontier[index] = slot;
+    }
+
+    private void frontierSiftDown(int[] frontier, int frontierSize) {
+        if (frontierSize == 0) return;
+        int index = 0;
+        int slot = frontier[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= frontierSize) break;
+            int right = child + 1;
+            if (right < frontierSize && compare(heap[frontier[right]], heap[frontier[child]])) {
+                child = right;
+            }
+            if (!compare(heap[frontier[child]], heap[slot])) {
+                break;
+            }
+            frontier[index] = frontier[child];
+            index = child;
+        }
+        frontier[index] = slot;
+    }
+
+    /**
+     * Move the element at index up by shifting parents down into the hole
+     * and writing the element once at its final slot
+     * The heap direction is checked once here; the loops themselves use a
+     * plain comparison
+     */
     private void siftUp(int index) {
-        if (index <= 0) return;
-        
-        int parentIndex = getParentIndex(index);
-        if (compare(heap[index], heap[parentIndex])) {
-            swap(index, parentIndex);
-            siftUp(parentIndex);
+        if (isMinHeap) {
+            siftUpMin(index);
+        } else {
+            siftUpMax(index);
         }
     }
 
+    private void siftUpMin(int index) {
+        int value = heap[index];
+        while (index > 0) {
+            int parentIndex = getParentIndex(index);
+            int parent = heap[parentIndex];
+            if (value >= parent) {
+                break;
+            }
+            heap[index] = parent;
+            index = parentIndex;
+        }
+        heap[index] = value;
+    }
+
+    private void siftUpMax(int index) {
+        int value = heap[index];
+        while (index > 0) {
+            int parentIndex = getParentIndex(index);
+            int parent = heap[parentIndex];
+            if (value <= parent) {
+                break;
+            }
+            heap[index] = parent;
+            index = parentIndex;
+        }
+        heap[index] = value;
+    }
+
+    /**
+     * Move the element at index down by pulling the best child up into the
+     * hole; for a d-ary heap the children of a node are contiguous in memory
+     */
     private void siftDown(int index) {
-        int targetIndex = index;
-        int leftChild = getLeftChildIndex(index);
-        int rightChild = getRightChildIndex(index);
-        
-        if (leftChild < size && compare(heap[leftChild], heap[targetIndex])) {
-            targetIndex = leftChild;
+        if (isMinHeap) {
+            siftDownMin(index);
+        } else {
+            siftDownMax(index);
         }
-        
-        if (rightChild < size && compare(heap[rightChild], heap[targetIndex])) {
-            targetIndex = rightChild;
+    }
+
+    private void siftDownMin(int index) {
+        int value = heap[index];
+        while (true) {
+            int first = getFirstChildIndex(index);
+            if (first >= size) {
+                break;
+            }
+            int last = Math.min(first + arity, size);
+            int best = first;
+            int bestValue = heap[first];
+            for (int child = first + 1; child < last; child++) {
+                if (heap[child] < bestValue) {
+                    best = child;
+                    bestValue = heap[child];
+                }
+            }
+            if (bestValue >= value) {
+                break;
+            }
+            heap[index] = bestValue;
+            index = best;
         }
-        
-        if (targetIndex != index) {
-            swap(index, targetIndex);
-            siftDown(targetIndex);
+        heap[index] = value;
+    }
+
+    private void siftDownMax(int index) {
+        int value = heap[index];
+        while (true) {
+            int first = getFirstChildIndex(index);
+            if (first >= size) {
+                break;
+            }
+            int last = Math.min(first + arity, size);
+            int best = first;
+            int bestValue = heap[first];
+            for (int child = first + 1; child < last; child++) {
+                if (heap[child] > bestValue) {
+                    best = child;
+                    bestValue = heap[child];
+                }
+            }
+            if (bestValue <= value) {
+                break;
+            }
+            heap[index] = bestValue;
+            index = best;
         }
+        heap[index] = value;
     }
 
     private boolean compare(int child, int parent) {
         return isMinHeap ? child < parent : child > parent;
     }
 
-    private void swap(int i, int j) {
-        int temp = heap[i];
-        heap[i] = heap[j];
-        heap[j] = temp;
-    }
-
     private void resizeHeap() {
         int[] newHeap = new int[heap.length * 2];
         System.arraycopy(heap, 0, newHeap, 0, heap.length);
@@ -314,7 +499,7 @@ public class HeapTree {
     }
 
     private void buildHeap() {
-        for (int i = (size / 2) - 1; i >= 0; i--) {
+        for (int i = getParentIndex(size - 1); i >= 0; i--) {
             siftDown(i);
         }
     }
@@ -328,29 +513,24 @@ public class HeapTree {
         return -1;
     }
 
-    private int findIndexInOriginal(int value) {
-        // This is a helper method for getKthElement
-        // In a real implementation, you'd maintain a mapping
-        return findIndex(value);
-    }
-
     private int getParentIndex(int index) {
-        return (index - 1) / 2;
-    }
-
-    private int getLeftChildIndex(int index) {
-        return 2 * index + 1;
+        return (index - 1) / arity;
     }
 
-    private int getRightChildIndex(int index) {
-        return 2 * index + 2;
+    private int getFirstChildIndex(int index) {
+        return arity * index + 1;
     }
 
     private void printLevel(int index, int level) {
         if (index >= size) return;
         
-        // Print right subtree first
-        printLevel(getRightChildIndex(index), level + 1);
+        int first = getFirstChildIndex(index);
+        int middle = first + arity / 2;
+
+        // Print right half of the children first
+        for (int child = first + arity - 1; child >= middle; child--) {
+            printLevel(child, level + 1);
+        }
         
         // Print current node with indentation
         for (int i = 0; i < level; i++) {
@@ -358,8 +538,10 @@ public class HeapTree {
         }
         System.out.println(heap[index]);
         
-        // Print left subtree
-        printLevel(getLeftChildIndex(index), level + 1);
+        // Print left half of the children
+        for (int child = middle - 1; child >= first; child--) {
+            printLevel(child, level + 1);
+        }
     }
 
     @Override
@@ -379,6 +561,39 @@ public class HeapTree {
         return sb.toString();
     }
 
+    /**
+     * Measure insert and extract throughput for binary, 4-ary and 8-ary layouts
+     * Runs only when an element count is passed as the first program argument
+     */
+    private static void benchmarkArity(int n) {
+        java.util.Random random = new java.util.Random(42);
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextInt();
+        }
+
+        System.out.println("n = " + n);
+        System.out.println("arity\tinsert(Mops/s)\textract(Mops/s)");
+        for (int arity : new int[]{2, 4, 8}) {
+            HeapTree heap = new HeapTree(n, true, arity);
+
+            long start = System.nanoTime();
+            for (int value : values) {
+                heap.insert(value);
+            }
+            long insertTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            while (!heap.isEmpty()) {
+                heap.extract();
+            }
+            long extractTime = System.nanoTime() - start;
+
+            System.out.printf("%d\t%.2f\t\t%.2f%n", arity,
+                    n * 1000.0 / insertTime, n * 1000.0 / extractTime);
+        }
+    }
+
     // Main method for testing
     public static void main(String[] args) {
         System.out.println("=== Min Heap Demo ===");
@@ -416,6 +631,14 @@ public class HeapTree {
         
         System.out.println("Original heap: " + advancedHeap);
         System.out.println("3rd smallest element: " + advancedHeap.getKthElement(3));
+        int[] top = new int[4];
+        advancedHeap.topK(4, top);
+        System.out.println("Top 4 elements: " + Arrays.toString(top));
+        int[] scratch = new int[advancedHeap.scratchSize(4)];
+        System.out.println("4th smallest (reusing scratch): " + advancedHeap.getKthElement(4, scratch));
+
+        HeapTree duplicates = new HeapTree(new int[]{5, 1, 1, 3, 1, 2}, true);
+        System.out.println("4th smallest of " + duplicates + ": " + duplicates.getKthElement(4));
         System.out.println("Remove element 5: " + advancedHeap.remove(5));
         System.out.println("After removal: " + advancedHeap);
         
@@ -423,5 +646,16 @@ public class HeapTree {
         System.out.println("Changed 7 to 1: " + advancedHeap);
         
         System.out.println("Is valid heap: " + advancedHeap.isValidHeap());
+
+        System.out.println("\n=== 4-ary Max Heap Demo ===");
+        HeapTree quaternaryHeap = new HeapTree(values, false, 4);
+        quaternaryHeap.printHeap();
+        System.out.println("Heap Sort (descending): " + Arrays.toString(quaternaryHeap.heapSort()));
+
+        // Pass an element count (e.g. 1000000) to run the arity benchmark
+        if (args.length > 0) {
+            System.out.println("\n=== Arity Benchmark ===");
+            benchmarkArity(Integer.parseInt(args[0]));
+        }
     }
 }
\ No newline at end of file
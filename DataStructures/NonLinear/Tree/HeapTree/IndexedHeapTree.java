@@ -0,0 +1,432 @@
+package DataStructures.NonLinear.Tree.HeapTree;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed Binary Heap supporting both Min Heap and Max Heap
+ * Every key is stored under an integer handle (0, 1, 2, ...) and a
+ * handle -> slot position map is kept in sync by siftUp/siftDown,
+ * so remove and changeKey run in O(log n) instead of O(n)
+ */
+public class IndexedHeapTree {
+    private int[] heap;       // slot -> key
+    private int[] handles;    // slot -> handle
+    private int[] positions;  // handle -> slot, -1 if handle is not in the heap
+    private int size;
+    private final boolean isMinHeap;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Constructors
+    public IndexedHeapTree() {
+        this(DEFAULT_CAPACITY, true);
+    }
+
+    public IndexedHeapTree(boolean isMinHeap) {
+        this(DEFAULT_CAPACITY, isMinHeap);
+    }
+
+    public IndexedHeapTree(int capacity) {
+        this(capacity, true);
+    }
+
+    public IndexedHeapTree(int capacity, boolean isMinHeap) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.heap = new int[capacity];
+        this.handles = new int[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(this.positions, -1);
+        this.size = 0;
+        this.isMinHeap = isMinHeap;
+    }
+
+    /**
+     * Insert a key under the given handle
+     * Time Complexity: O(log n)
+     */
+    public void insert(int handle, int key) {
+        if (handle < 0) {
+            throw new IllegalArgumentException("Handle must be non-negative");
+        }
+        if (contains(handle)) {
+            throw new IllegalArgumentException("Handle already in heap: " + handle);
+        }
+        if (size >= heap.length) {
+            resizeHeap();
+        }
+        ensureHandleCapacity(handle);
+        heap[size] = key;
+        handles[size] = handle;
+        positions[handle] = size;
+        siftUp(size);
+        size++;
+    }
+
+    /**
+     * Remove the root and return its handle
+     * Time Complexity: O(log n)
+     */
+    public int extract() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        int rootHandle = handles[0];
+        removeAt(0);
+        return rootHandle;
+    }
+
+    /**
+     * Get the handle of the root element without removing it
+     * Time Complexity: O(1)
+     */
+    public int peek() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return handles[0];
+    }
+
+    /**
+     * Get the key of the root element without removing it
+     * Time Complexity: O(1)
+     */
+    public int peekKey() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Get the key stored under a handle
+     * Time Complexity: O(1)
+     */
+    public int keyOf(int handle) {
+        if (!contains(handle)) {
+            throw new NoSuchElementException("Handle not found in heap");
+        }
+        return heap[positions[handle]];
+    }
+
+    /**
+     * Remove the element stored under a handle
+     * Time Complexity: O(log n)
+     */
+    public boolean remove(int handle) {
+        if (!contains(handle)) {
+            return false;
+        }
+        removeAt(positions[handle]);
+        return true;
+    }
+
+    /**
+     * Change the key stored under a handle (decrease-key or increase-key)
+     * Time Complexity: O(log n)
+     */
+    public void changeKey(int handle, int newKey) {
+        if (!contains(handle)) {
+            throw new NoSuchElementException("Handle not found in heap");
+        }
+        int index = positions[handle];
+        int oldKey = heap[index];
+        heap[index] = newKey;
+
+        if (compare(newKey, oldKey)) {
+            siftUp(index);
+        } else {
+            siftDown(index);
+        }
+    }
+
+    // Utility methods
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < positions.length && positions[handle] != -1;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isMinHeap() {
+        return isMinHeap;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[handles[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Check that the heap property holds and the position map is consistent
+     * Time Complexity: O(n)
+     */
+    public boolean isValidHeap() {
+        for (int i = 0; i < size; i++) {
+            if (positions[handles[i]] != i) {
+                return false;
+            }
+            int left = 2 * i + 1;
+            int right = 2 * i + 2;
+            if (left < size && compare(heap[left], heap[i])) {
+                return false;
+            }
+            if (right < size && compare(heap[right], heap[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Private helper methods
+    private void removeAt(int index) {
+        positions[handles[index]] = -1;
+        size--;
+        if (index == size) {
+            return;
+        }
+
+        int movedKey = heap[size];
+        heap[index] = movedKey;
+        handles[index] = handles[size];
+        positions[handles[index]] = index;
+
+        // Restore heap property
+        if (index > 0 && compare(movedKey, heap[(index - 1) / 2])) {
+            siftUp(index);
+        } else {
+            siftDown(index);
+        }
+    }
+
+    /**
+     * Move the element at index up by shifting parents down into the hole;
+     * the element and its position entry are written once at the final slot
+     * The heap direction is checked once here; the loops themselves use a
+     * plain comparison
+     */
+    private void siftUp(int index) {
+        if (isMinHeap) {
+            siftUpMin(index);
+        } else {
+            siftUpMax(index);
+        }
+    }
+
+    private void siftUpMin(int index) {
+        int key = heap[index];
+        int handle = handles[index];
+        while (index > 0) {
+            int parentIndex = (index - 1) / 2;
+            int parentKey = heap[parentIndex];
+            if (key >= parentKey) {
+                break;
+            }
+            heap[index] = parentKey;
+            handles[index] = handles[parentIndex];
+            positions[handles[index]] = index;
+            index = parentIndex;
+        }
+        heap[index] = key;
+        handles[index] = handle;
+        positions[handle] = index;
+    }
+
+    private void siftUpMax(int index) {
+        int key = heap[index];
+        int handle = handles[index];
+        while (index > 0) {
+            int parentIndex = (index - 1) / 2;
+            int parentKey = heap[parentIndex];
+            if (key <= parentKey) {
+                break;
+            }
+            heap[index] = parentKey;
+            handles[index] = handles[parentIndex];
+            positions[handles[index]] = index;
+            index = parentIndex;
+        }
+        heap[index] = key;
+        handles[index] = handle;
+        positions[handle] = index;
+    }
+
+    /**
+     * Move the element at index down by pulling the better child up into
+     * the hole, with the same single final write as siftUp
+     */
+    private void siftDown(int index) {
+        if (isMinHeap) {
+            siftDownMin(index);
+        } else {
+            siftDownMax(index);
+        }
+    }
+
+    private void siftDownMin(int index) {
+        int key = heap[index];
+        int handle = handles[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            int childKey = heap[child];
+            int rightChild = child + 1;
+            if (rightChild < size && heap[rightChild] < childKey) {
+                child = rightChild;
+                childKey = heap[rightChild];
+            }
+            if (childKey >= key) {
+                break;
+            }
+            heap[index] = childKey;
+            handles[index] = handles[child];
+            positions[handles[index]] = index;
+            index = child;
+        }
+        heap[index] = key;
+        handles[index] = handle;
+        positions[handle] = index;
+    }
+
+    private void siftDownMax(int index) {
+        int key = heap[index];
+        int handle = handles[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            int childKey = heap[child];
+            int rightChild = child + 1;
+            if (rightChild < size && heap[rightChild] > childKey) {
+                child = rightChild;
+                childKey = heap[rightChild];
+            }
+            if (childKey <= key) {
+                break;
+            }
+            heap[index] = childKey;
+            handles[index] = handles[child];
+            positions[handles[index]] = index;
+            index = child;
+        }
+        heap[index] = key;
+        handles[index] = handle;
+        positions[handle] = index;
+    }
+
+    private boolean compare(int child, int parent) {
+        return isMinHeap ? child < parent : child > parent;
+    }
+
+    private void resizeHeap() {
+        heap = Arrays.copyOf(heap, heap.length * 2);
+        handles = Arrays.copyOf(handles, handles.length * 2);
+    }
+
+    private void ensureHandleCapacity(int handle) {
+        if (handle < positions.length) {
+            return;
+        }
+        int oldLength = positions.length;
+        positions = Arrays.copyOf(positions, Math.max(oldLength * 2, handle + 1));
+        Arrays.fill(positions, oldLength, positions.length, -1);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for (int i = 0; i < size; i++) {
+            sb.append(handles[i]).append("=").append(heap[i]);
+            if (i < size - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    /**
+     * Compare changeKey on HeapTree (linear findIndex scan) with the
+     * indexed version for growing heap sizes, with the given number of
+     * updates per size
+     */
+    private static void benchmarkChangeKey(int updates) {
+        int[] sizes = {16, 64, 256, 1024, 4096, 16384};
+        java.util.Random random = new java.util.Random(42);
+
+        System.out.println("size\tHeapTree(ns/op)\tIndexedHeapTree(ns/op)");
+        for (int n : sizes) {
+            HeapTree scanHeap = new HeapTree(n, true);
+            IndexedHeapTree indexedHeap = new IndexedHeapTree(n, true);
+            int[] keys = new int[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = i * 100_000; // spaced keys so the value scan always finds the right element
+                scanHeap.insert(keys[i]);
+                indexedHeap.insert(i, keys[i]);
+            }
+
+            long start = System.nanoTime();
+            for (int u = 0; u < updates; u++) {
+                int i = random.nextInt(n);
+                int newKey = keys[i] + (random.nextBoolean() ? 1 : -1);
+                scanHeap.changeKey(keys[i], newKey);
+                keys[i] = newKey;
+            }
+            long scanTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int u = 0; u < updates; u++) {
+                int i = random.nextInt(n);
+                indexedHeap.changeKey(i, indexedHeap.keyOf(i) + (random.nextBoolean() ? 1 : -1));
+            }
+            long indexedTime = System.nanoTime() - start;
+
+            System.out.println(n + "\t" + (scanTime / updates) + "\t\t" + (indexedTime / updates));
+        }
+    }
+
+    // Main method for testing
+    public static void main(String[] args) {
+        System.out.println("=== Indexed Min Heap Demo ===");
+        IndexedHeapTree heap = new IndexedHeapTree(true);
+
+        int[] keys = {40, 10, 30, 20, 50};
+        for (int handle = 0; handle < keys.length; handle++) {
+            heap.insert(handle, keys[handle]);
+        }
+        System.out.println("Heap (handle=key): " + heap);
+
+        heap.changeKey(4, 5);
+        System.out.println("Decrease key of handle 4 to 5: " + heap);
+
+        heap.changeKey(1, 60);
+        System.out.println("Increase key of handle 1 to 60: " + heap);
+
+        System.out.println("Remove handle 2: " + heap.remove(2) + ", Remaining: " + heap);
+        System.out.println("Is valid heap: " + heap.isValidHeap());
+
+        System.out.println("\nExtracting handles:");
+        while (!heap.isEmpty()) {
+            int key = heap.peekKey();
+            System.out.println("Extracted handle " + heap.extract() + " (key " + key + ")");
+        }
+
+        // Pass an update count (e.g. 2000) to compare changeKey with HeapTree
+        if (args.length > 0) {
+            System.out.println("\n=== changeKey: linear scan vs position map ===");
+            benchmarkChangeKey(Integer.parseInt(args[0]));
+        }
+    }
+}